@@ -0,0 +1,50 @@
+package bench;
+
+import java.util.Random;
+
+import entity.WallGrid;
+import main.GameState;
+
+/**
+ * Shared setup for the benchmarks: games loaded on a given level and
+ * reproducible lists of walkable start/target cells.
+ */
+final class BenchMaps {
+
+    private BenchMaps() {
+    }
+
+    // Fixed seed: every run sees the same ghost decisions
+    static final long SEED = 1;
+
+    static GameState load(int level) {
+        GameState game = new GameState(SEED);
+        restart(game, level);
+        return game;
+    }
+
+    // New game (score, lives) starting directly on the given level
+    static void restart(GameState game, int level) {
+        game.resetGame();
+        if (level != 1) {
+            game.loadLevel(level);
+        }
+    }
+
+    // Pixel coordinates {startX, startY, targetX, targetY} of count random walkable pairs
+    static int[] randomPairs(WallGrid grid, int count, long seed) {
+        Random random = new Random(seed);
+        int[] pairs = new int[count * 4];
+        for (int i = 0; i < pairs.length; i += 2) {
+            int row;
+            int col;
+            do {
+                row = random.nextInt(grid.getRowCount());
+                col = random.nextInt(grid.getColumnCount());
+            } while (grid.isWall(row, col));
+            pairs[i] = col * GameState.tileSize;
+            pairs[i + 1] = row * GameState.tileSize;
+        }
+        return pairs;
+    }
+}
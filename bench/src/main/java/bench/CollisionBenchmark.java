@@ -0,0 +1,50 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import entity.Entity;
+import entity.Ghost;
+import main.GameState;
+
+/**
+ * GameState.collision() on its own, and the food lookup step() does every tick.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+    private GameState game;
+    private Ghost ghost;
+    private final int[] eaten = new int[4];
+
+    @Setup
+    public void setup() {
+        game = BenchMaps.load(1);
+        ghost = game.getGhosts().iterator().next();
+        // Between two tiles with pellets, so the scan finds something to eat
+        game.pacman.x = 4 * GameState.tileSize + GameState.tileSize / 2;
+        game.pacman.y = 3 * GameState.tileSize;
+    }
+
+    @Benchmark
+    public boolean ghostVsPacman() {
+        return game.collision(ghost, game.pacman);
+    }
+
+    @Benchmark
+    public int foodScan() {
+        Entity pacman = game.pacman;
+        int n = game.pellets.eatOverlapping(pacman.x, pacman.y, pacman.width, pacman.height, eaten);
+        // Put them back so every call sees the same pellets
+        for (int i = 0; i < n; i++) {
+            game.pellets.add(eaten[i] / game.getColumnCount(), eaten[i] % game.getColumnCount());
+        }
+        return n;
+    }
+}
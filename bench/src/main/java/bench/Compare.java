@@ -0,0 +1,80 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints a JMH csv result (-rf csv) next to the stored baseline:
+ * throughput ratio and allocated bytes per operation for each benchmark.
+ *
+ * Usage: java -cp target/benchmarks.jar bench.Compare baseline/baseline.csv result.csv
+ */
+public class Compare {
+
+    private static final String ALLOC_SUFFIX = ":gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: bench.Compare <baseline.csv> <result.csv>");
+            System.exit(1);
+        }
+        Map<String, Double> baseline = read(Path.of(args[0]));
+        Map<String, Double> current = read(Path.of(args[1]));
+
+        System.out.printf("%-60s %12s %12s %8s %10s %10s%n",
+                "Benchmark", "base", "now", "ratio", "base B/op", "now B/op");
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            String key = entry.getKey();
+            if (key.contains(":")) {
+                continue;  // secondary metrics are printed next to their benchmark
+            }
+            Double before = baseline.get(key);
+            Double allocBefore = baseline.get(allocKey(key));
+            Double allocNow = current.get(allocKey(key));
+            System.out.printf("%-60s %12s %12.3f %8s %10s %10s%n",
+                    key,
+                    before == null ? "-" : String.format("%.3f", before),
+                    entry.getValue(),
+                    before == null ? "-" : String.format("%.2fx", entry.getValue() / before),
+                    allocBefore == null ? "-" : String.format("%.1f", allocBefore),
+                    allocNow == null ? "-" : String.format("%.1f", allocNow));
+        }
+    }
+
+    // "bench.X.method:metric [param=value ...]" -> score
+    private static Map<String, Double> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        String[] header = split(lines.get(0));
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (int i = 1; i < lines.size(); i++) {
+            String[] cells = split(lines.get(i));
+            StringBuilder key = new StringBuilder(cells[0].replace("bench.", ""));
+            for (int c = 7; c < cells.length; c++) {
+                if (!cells[c].isEmpty()) {
+                    key.append(' ').append(header[c].replace("Param: ", "")).append('=').append(cells[c]);
+                }
+            }
+            scores.put(key.toString(), Double.parseDouble(cells[4]));
+        }
+        return scores;
+    }
+
+    private static String allocKey(String key) {
+        int space = key.indexOf(' ');
+        return space < 0 ? key + ALLOC_SUFFIX
+                : key.substring(0, space) + ALLOC_SUFFIX + key.substring(space);
+    }
+
+    private static String[] split(String line) {
+        List<String> cells = new ArrayList<>();
+        for (String cell : line.split(",", -1)) {
+            cells.add(cell.replace("\"", ""));
+        }
+        return cells.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,63 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import main.HighScoreManager;
+import main.Score;
+
+/**
+ * Many sessions sharing one HighScoreManager: threads adding scores while
+ * others read the top list (as every game-over screen does each frame).
+ * The journal goes to a temp file, flushed and deleted after each iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Group)
+public class LeaderboardBenchmark {
+
+    private Path file;
+    private HighScoreManager scores;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        file = Files.createTempFile("scores", ".log");
+        scores = new HighScoreManager(file, HighScoreManager.TOP_N);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        scores.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void add() {
+        scores.addScore("player", ThreadLocalRandom.current().nextInt(100_000));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public List<Score> read() {
+        return scores.getTopScores();
+    }
+
+    @Benchmark
+    @Group("addOnly")
+    @GroupThreads(8)
+    public void addAll() {
+        scores.addScore("player", ThreadLocalRandom.current().nextInt(100_000));
+    }
+}
@@ -0,0 +1,60 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import main.GameState;
+
+/**
+ * Getting a level ready to play: parsing a text map and building its
+ * next-hop table, versus reading the same level from a .pacl file.
+ * newGame is GameState.resetGame() on a level that is already loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class LevelLoadBenchmark {
+
+    @Param({"1", "2"})
+    public int level;
+
+    private String[] map;
+    private Path file;
+    private GameState game;
+
+    @Setup
+    public void setup() throws IOException {
+        map = GameState.getBuiltinMaps().get(level - 1);
+        file = Files.createTempFile("level" + level, ".pacl");
+        main.Level.fromText(map, true).write(file);
+        game = BenchMaps.load(level);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public main.Level fromText() {
+        return main.Level.fromText(map, true);
+    }
+
+    @Benchmark
+    public main.Level readBinary() throws IOException {
+        return main.Level.read(file);
+    }
+
+    @Benchmark
+    public int newGame() {
+        BenchMaps.restart(game, level);
+        return game.pellets.getCount();
+    }
+}
@@ -0,0 +1,115 @@
+package bench;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import entity.DistanceField;
+import entity.Ghost;
+import entity.PathLinkedList;
+import entity.Pathfinder;
+import entity.Pathfinders;
+import main.GamePanel;
+import main.GameState;
+
+/**
+ * How the per-tick work grows with the map: generated mazes (MazeGenerator)
+ * from the classic 21x19 up to 1000x1000, loaded through -Dpacman.maze.
+ * findPath and distanceField are one search over the maze, wallCollision
+ * checks every ghost against the walls, step is a full tick and draw one
+ * frame of the window.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class MazeScalingBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    @Param({"21x19", "201x201", "1000x1000"})
+    public String size;
+
+    @Param({"8"})
+    public int ghosts;
+
+    // GameState.parallelGhosts for step (0: ghosts decide one after another)
+    @Param({"0"})
+    public int parallelGhosts;
+
+    // GameState.useEntityStore for step (ghosts in parallel arrays)
+    @Param({"false"})
+    public boolean entityStore;
+
+    private GamePanel panel;
+    private GameState game;
+    private Pathfinder pathfinder;
+    private DistanceField field;
+    private final PathLinkedList path = new PathLinkedList();
+    private int[] pairs;
+    private int next = 0;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() {
+        System.setProperty("pacman.maze", size + "," + ghosts + "," + BenchMaps.SEED);
+        System.setProperty("pacman.seed", Long.toString(BenchMaps.SEED));
+        panel = new GamePanel();
+        game = panel.state;
+        game.parallelGhosts = parallelGhosts;
+        game.useEntityStore = entityStore;
+        pathfinder = Pathfinders.create("fastbfs", game);
+        field = new DistanceField(game.wallGrid);
+        pairs = BenchMaps.randomPairs(game.wallGrid, PAIRS, 42);
+        graphics = new BufferedImage(GamePanel.WIDTH, GamePanel.HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public boolean findPath() {
+        int i = next;
+        next = (next + 4) % pairs.length;
+        return pathfinder.findPath(pairs[i], pairs[i + 1], pairs[i + 2], pairs[i + 3], path);
+    }
+
+    @Benchmark
+    public int distanceField() {
+        int i = next;
+        next = (next + 2) % pairs.length;
+        field.moveSource(pairs[i + 1] / GameState.tileSize, pairs[i] / GameState.tileSize);
+        return field.getLastExpanded();
+    }
+
+    @Benchmark
+    public int wallCollision() {
+        int hits = 0;
+        for (Ghost ghost : game.getGhosts()) {
+            if (game.collidesWithWall(ghost)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int step() {
+        game.step();
+        if (game.isGameOver()) {
+            BenchMaps.restart(game, 1);
+        }
+        return game.getScore();
+    }
+
+    @Benchmark
+    public void draw() {
+        panel.draw(graphics);
+    }
+}
@@ -0,0 +1,50 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import entity.PathLinkedList;
+import entity.Pathfinder;
+import entity.Pathfinders;
+import main.GameState;
+
+/**
+ * One findPath() call between random walkable cells, per level and algorithm.
+ * "bfs" is the original BFSPathfinder; the others are there to compare against it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class PathfindingBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    @Param({"1", "2"})
+    public int level;
+
+    @Param({"bfs", "fastbfs", "astar", "jps", "dstar"})
+    public String algorithm;
+
+    private Pathfinder pathfinder;
+    private final PathLinkedList path = new PathLinkedList();
+    private int[] pairs;
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        GameState game = BenchMaps.load(level);
+        pathfinder = Pathfinders.create(algorithm, game);
+        pairs = BenchMaps.randomPairs(game.wallGrid, PAIRS, 42);
+    }
+
+    @Benchmark
+    public boolean findPath() {
+        int i = next;
+        next = (next + 4) % pairs.length;
+        return pathfinder.findPath(pairs[i], pairs[i + 1], pairs[i + 2], pairs[i + 3], path);
+    }
+}
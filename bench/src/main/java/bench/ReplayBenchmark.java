@@ -0,0 +1,53 @@
+package bench;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import main.GameState;
+import main.InputRecorder;
+import main.Replay;
+
+/**
+ * A fixed workload: replaying the same recorded session of TICKS ticks
+ * (random turns, restarts after game over), verified against its hash.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ReplayBenchmark {
+
+    private static final int TICKS = 20_000;
+
+    private Replay replay;
+
+    @Setup
+    public void setup() throws IOException {
+        GameState game = new GameState(BenchMaps.SEED);
+        game.recorder = new InputRecorder(game.seed);
+        Random input = new Random(2);
+        for (int i = 0; i < TICKS; i++) {
+            if (game.isGameOver()) {
+                game.resetGame();
+            } else if (input.nextInt(10) == 0) {
+                game.setPacmanDirection("UDLR".charAt(input.nextInt(4)));
+            }
+            game.step();
+        }
+        replay = Replay.parse(game.recorder.toBytes(game));
+    }
+
+    @Benchmark
+    public GameState replay() {
+        GameState game = replay.run();
+        if (!replay.matches(game)) {
+            throw new IllegalStateException("Replay diverged");
+        }
+        return game;
+    }
+}
@@ -0,0 +1,47 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import entity.Ghost;
+import main.GameState;
+
+/**
+ * Ghost.update() for every ghost, and a full GameState.step() tick.
+ * Pacman gets no input, so games end by ghost catches and are restarted.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class TickBenchmark {
+
+    @Param({"1", "2"})
+    public int level;
+
+    private GameState game;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        game = BenchMaps.load(level);
+    }
+
+    @Benchmark
+    public void ghostUpdate() {
+        for (Ghost ghost : game.getGhosts()) {
+            ghost.update();
+        }
+    }
+
+    @Benchmark
+    public int step() {
+        game.step();
+        if (game.isGameOver()) {
+            BenchMaps.restart(game, level);
+        }
+        return game.getScore();
+    }
+}
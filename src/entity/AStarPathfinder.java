@@ -0,0 +1,226 @@
+package entity;
+
+import java.util.Arrays;
+import main.GameState;
+
+/**
+ * AStarPathfinder - A* search with a Manhattan distance heuristic
+ *
+ * PRESENTATION POINTS:
+ *
+ * 1. A* = BFS + A SENSE OF DIRECTION
+ *    - BFS expands cells in order of distance from the START
+ *    - A* expands cells in order of f = g + h
+ *      g = steps taken so far, h = estimated steps still needed
+ *    - Cells that lead away from Pacman are expanded late or never
+ *
+ * 2. MANHATTAN HEURISTIC: h = |row - targetRow| + |col - targetCol|
+ *    - Never overestimates on a 4-connected grid (admissible)
+ *    - So A* still returns a SHORTEST path
+ *
+ * 3. PRIORITY QUEUE - Binary heap of primitive longs (LongMinHeap)
+ *    - Entry = f << 32 | cell, so the smallest f is always on top
+ *
+ * 4. SAME BUFFERS TRICK AS FastBFSPathfinder
+ *    - int[] g/parent arrays and generation stamps, reused between searches
+ *
+ * TIME COMPLEXITY: O(V log V) worst case, usually far fewer expansions than BFS
+ */
+public class AStarPathfinder implements Pathfinder {
+
+    protected GameState game;
+
+    // Grid of the current search
+    protected WallGrid grid;
+    protected int rows;
+    protected int cols;
+    protected int targetRow;
+    protected int targetCol;
+
+    // Per-cell search state (reused between searches)
+    protected int[] g;
+    protected int[] parent;
+    protected int[] openStamp;
+    protected int[] closedStamp;
+    protected int stamp = 0;
+
+    // Open list: smallest f first
+    protected final LongMinHeap open = new LongMinHeap(256);
+
+    protected int lastExpanded = 0;
+
+    /**
+     * Constructor - Initialize pathfinder with game reference
+     *
+     * @param game - Game state containing the wall grid
+     */
+    public AStarPathfinder(GameState game) {
+        this.game = game;
+    }
+
+    /**
+     * Find shortest path from start to target using A*
+     *
+     * ALGORITHM STEPS:
+     * Step 1: Push start with f = h(start)
+     * Step 2: Pop the cell with the smallest f
+     * Step 3: Skip it if already closed (stale heap entry)
+     * Step 4: Stop when the target is popped
+     * Step 5: Otherwise relax its successors and repeat
+     */
+    @Override
+    public boolean findPath(int startX, int startY, int targetX, int targetY, PathLinkedList path) {
+        path.clear();
+        grid = game.wallGrid;
+        rows = grid.getRowCount();
+        cols = grid.getColumnCount();
+        lastExpanded = 0;
+
+        int startRow = startY / game.tileSize;
+        int startCol = startX / game.tileSize;
+        targetRow = targetY / game.tileSize;
+        targetCol = targetX / game.tileSize;
+
+        // Edge case: Already at target
+        if (startRow == targetRow && startCol == targetCol) {
+            return true;
+        }
+
+        // Off-grid positions and walls are unreachable
+        if (startRow < 0 || startRow >= rows || startCol < 0 || startCol >= cols ||
+            !isOpen(targetRow, targetCol)) {
+            return false;
+        }
+
+        ensureCapacity(rows * cols);
+        nextStamp();
+
+        int start = startRow * cols + startCol;
+        int target = targetRow * cols + targetCol;
+
+        // === STEP 1: Start node ===
+        open.clear();
+        g[start] = 0;
+        parent[start] = -1;
+        openStamp[start] = stamp;
+        open.push(LongMinHeap.pack(heuristic(start), start));
+
+        while (!open.isEmpty()) {
+            // === STEP 2: Best candidate ===
+            int current = LongMinHeap.cell(open.pop());
+
+            // === STEP 3: Lazy deletion ===
+            if (closedStamp[current] == stamp) continue;
+            closedStamp[current] = stamp;
+            lastExpanded++;
+
+            // === STEP 4: Goal test ===
+            if (current == target) {
+                reconstructPath(target, path);
+                return true;
+            }
+
+            // === STEP 5: Successors ===
+            expand(current);
+        }
+
+        return false;
+    }
+
+    @Override
+    public int getLastExpandedCount() {
+        return lastExpanded;
+    }
+
+    /**
+     * Push the successors of a cell (plain A*: the 4 grid neighbors)
+     *
+     * @param current - Cell being expanded
+     */
+    protected void expand(int current) {
+        int row = current / cols;
+        int col = current % cols;
+        if (isOpen(row - 1, col)) relax(current, current - cols, 1);
+        if (isOpen(row + 1, col)) relax(current, current + cols, 1);
+        if (isOpen(row, col - 1)) relax(current, current - 1, 1);
+        if (isOpen(row, col + 1)) relax(current, current + 1, 1);
+    }
+
+    /**
+     * Record a cheaper way to reach a cell and (re)insert it in the open list
+     *
+     * @param from - Cell we come from
+     * @param to - Successor cell
+     * @param cost - Steps between them
+     */
+    protected void relax(int from, int to, int cost) {
+        if (closedStamp[to] == stamp) {
+            return;  // Consistent heuristic: closed cells are final
+        }
+        int newG = g[from] + cost;
+        if (openStamp[to] != stamp || newG < g[to]) {
+            openStamp[to] = stamp;
+            g[to] = newG;
+            parent[to] = from;
+            open.push(LongMinHeap.pack(newG + heuristic(to), to));
+        }
+    }
+
+    /**
+     * Manhattan distance to the target
+     */
+    protected int heuristic(int cell) {
+        return Math.abs(cell / cols - targetRow) + Math.abs(cell % cols - targetCol);
+    }
+
+    protected boolean isOpen(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && !grid.isWall(row, col);
+    }
+
+    /**
+     * Follow parent links back to the start
+     *
+     * PRESENTATION POINT:
+     * - A parent may be several cells away in a straight line
+     *   (jump point search), so each link can add several steps
+     */
+    private void reconstructPath(int target, PathLinkedList path) {
+        int current = target;
+
+        while (parent[current] != -1) {
+            int from = parent[current];
+            int rowDiff = current / cols - from / cols;
+            int colDiff = current % cols - from % cols;
+
+            char direction;
+            if (rowDiff < 0) direction = 'U';
+            else if (rowDiff > 0) direction = 'D';
+            else if (colDiff < 0) direction = 'L';
+            else direction = 'R';
+
+            for (int step = Math.abs(rowDiff) + Math.abs(colDiff); step > 0; step--) {
+                path.addFirst(direction);
+            }
+            current = from;
+        }
+    }
+
+    private void ensureCapacity(int cellCount) {
+        if (g == null || g.length < cellCount) {
+            g = new int[cellCount];
+            parent = new int[cellCount];
+            openStamp = new int[cellCount];
+            closedStamp = new int[cellCount];
+            stamp = 0;
+        }
+    }
+
+    private void nextStamp() {
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(openStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            stamp = 1;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package entity;
 
-import main.GamePanel;
+import main.GameState;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.HashSet;
@@ -22,6 +22,8 @@ import java.util.HashSet;
  *    - In grid: V = rows × cols, E ≈ 4V
  *    - Final: O(rows × cols)
  * 
+ *    - Wall checks use WallGrid: O(1) each
+ * 
  * 3. SPACE COMPLEXITY: O(V)
  *    - Queue stores at most all vertices
  *    - HashSet stores visited vertices
@@ -33,17 +35,20 @@ import java.util.HashSet;
  * - Efficient for grid-based games
  * - Realistic AI behavior
  */
-public class BFSPathfinder {
+public class BFSPathfinder implements Pathfinder {
+    
+    private GameState game;
     
-    private GamePanel gp;
+    // Nodes dequeued by the last search
+    private int lastExpanded = 0;
     
     /**
      * Constructor - Initialize pathfinder with game reference
      * 
-     * @param gp - Game panel containing walls and grid info
+     * @param game - Game state containing walls and grid info
      */
-    public BFSPathfinder(GamePanel gp) {
-        this.gp = gp;
+    public BFSPathfinder(GameState game) {
+        this.game = game;
     }
     
     /**
@@ -52,7 +57,7 @@ public class BFSPathfinder {
      * PRESENTATION - ALGORITHM OVERVIEW:
      * 
      * INPUT: Start position (ghost), Target position (Pacman)
-     * OUTPUT: PathLinkedList of directions, or null if unreachable
+     * OUTPUT: PathLinkedList of directions, or false if unreachable
      * 
      * STEPS:
      * 1. Convert pixel coordinates to grid coordinates
@@ -70,21 +75,25 @@ public class BFSPathfinder {
      * @param startY - Ghost's current Y position (pixels)
      * @param targetX - Pacman's X position (pixels)
      * @param targetY - Pacman's Y position (pixels)
-     * @return PathLinkedList with directions, or null if no path
+     * @param path - List that receives the directions (cleared first)
+     * @return true if a path was found, false if unreachable
      */
-    public PathLinkedList findPath(int startX, int startY, int targetX, int targetY) {
+    @Override
+    public boolean findPath(int startX, int startY, int targetX, int targetY, PathLinkedList path) {
+        lastExpanded = 0;
+        path.clear();
         
         // === STEP 1: Convert pixel coordinates to grid coordinates ===
         // PRESENTATION POINT: Coordinate system transformation
         // Pixels → Tiles: divide by tileSize
-        int startRow = startY / gp.tileSize;
-        int startCol = startX / gp.tileSize;
-        int targetRow = targetY / gp.tileSize;
-        int targetCol = targetX / gp.tileSize;
+        int startRow = startY / game.tileSize;
+        int startCol = startX / game.tileSize;
+        int targetRow = targetY / game.tileSize;
+        int targetCol = targetX / game.tileSize;
         
         // Edge case: Already at target
         if (startRow == targetRow && startCol == targetCol) {
-            return new PathLinkedList();  // Return empty path
+            return true;  // Empty path
         }
         
         // === STEP 2: Initialize BFS data structures ===
@@ -117,12 +126,14 @@ public class BFSPathfinder {
             // DEQUEUE: Remove and get first node from queue
             // PRESENTATION POINT: FIFO order ensures breadth-first
             PathfindingNode current = queue.poll();
+            lastExpanded++;
             
             // === STEP 4: Check if we reached the target ===
             if (current.row == targetRow && current.col == targetCol) {
                 // SUCCESS! We found Pacman
                 // Now reconstruct the path from target back to start
-                return reconstructPath(current);
+                reconstructPath(current, path);
+                return true;
             }
             
             // === STEP 5: Explore all 4 neighbors ===
@@ -144,7 +155,12 @@ public class BFSPathfinder {
         
         // Queue is empty and target not found
         // This means Pacman is unreachable from ghost's position
-        return null;
+        return false;
+    }
+    
+    @Override
+    public int getLastExpandedCount() {
+        return lastExpanded;
     }
     
     /**
@@ -174,8 +190,8 @@ public class BFSPathfinder {
         
         // STEP 1: Bounds checking
         // PRESENTATION POINT: Prevent array out of bounds errors
-        if (newRow < 0 || newRow >= GamePanel.rowCount || 
-            newCol < 0 || newCol >= GamePanel.columnCount) {
+        if (newRow < 0 || newRow >= game.wallGrid.getRowCount() || 
+            newCol < 0 || newCol >= game.wallGrid.getColumnCount()) {
             return;  // Out of bounds, skip this neighbor
         }
         
@@ -205,30 +221,16 @@ public class BFSPathfinder {
      * Check if a grid position contains a wall
      * 
      * PRESENTATION POINT:
-     * - Converts grid coordinates back to pixel coordinates
-     * - Checks all walls in game
-     * - Linear search: O(number of walls)
-     * 
-     * POTENTIAL OPTIMIZATION:
-     * - Could use 2D boolean array for O(1) lookup
-     * - Trade memory for speed
+     * - Delegates to the level's WallGrid (a packed bitset)
+     * - Constant time: O(1) instead of scanning every wall
+     * - Whole search is now O(rows × cols), independent of wall count
      * 
      * @param row - Grid row to check
      * @param col - Grid column to check
      * @return true if wall exists at position
      */
     private boolean isWall(int row, int col) {
-        // Convert grid coordinates to pixel coordinates
-        int pixelX = col * gp.tileSize;
-        int pixelY = row * gp.tileSize;
-        
-        // Check all walls in the game
-        for (Entity wall : gp.walls) {
-            if (wall.x == pixelX && wall.y == pixelY) {
-                return true;  // Wall found
-            }
-        }
-        return false;  // No wall at this position
+        return game.wallGrid.isWall(row, col);
     }
     
     /**
@@ -252,10 +254,9 @@ public class BFSPathfinder {
      * - Adding to front reverses the path automatically
      * 
      * @param targetNode - The node representing Pacman's position
-     * @return PathLinkedList with directions from ghost to Pacman
+     * @param path - Receives the directions from ghost to Pacman
      */
-    private PathLinkedList reconstructPath(PathfindingNode targetNode) {
-        PathLinkedList path = new PathLinkedList();
+    private void reconstructPath(PathfindingNode targetNode, PathLinkedList path) {
         PathfindingNode current = targetNode;
         
         // Traverse backward through parent links
@@ -272,8 +273,6 @@ public class BFSPathfinder {
             // Move to parent
             current = parent;
         }
-        
-        return path;
     }
     
     /**
@@ -0,0 +1,465 @@
+package entity;
+
+import java.util.Arrays;
+import main.GameState;
+
+/**
+ * DStarLitePathfinder - Moving Target D* Lite (MT-D* Lite) for chasing ghosts
+ *
+ * PRESENTATION POINTS:
+ *
+ * 1. WHY INCREMENTAL?
+ *    - BFS / A* forget everything after each call
+ *    - Between two calls the ghost walked a few cells along its own path
+ *      and Pacman moved a few cells: most of the old search is still valid
+ *    - This pathfinder keeps its search tree and reuses it
+ *
+ * 2. SEARCH DIRECTION - rooted at the GHOST (the hunter)
+ *    - g[s] = distance from the ghost to s, parent[s] = previous cell on
+ *      that shortest path: an A*-like search tree that grows toward Pacman
+ *    - Classic D* Lite roots the search at the goal. Here the goal is
+ *      Pacman, and he moves all the time: every move changes the root, so
+ *      the repair costs as much as a new search
+ *
+ * 3. PACMAN MOVED (the goal)
+ *    - The tree stays valid: distances from the ghost do not depend on
+ *      where Pacman is. Only the heuristic changes
+ *    - km += h(old goal, new goal) keeps the queued keys lower bounds,
+ *      so the search simply continues toward the new goal
+ *
+ * 4. GHOST MOVED (the root)
+ *    - The ghost walked along its path, so its new cell is in the old tree
+ *    - The subtree below the new cell keeps its distances (all larger by
+ *      the same constant, which does not change the order)
+ *    - Only the rest of the tree is deleted, and the deleted cells next to
+ *      the subtree go back into the queue ("optimized deletion")
+ *    - A ghost that left the tree (reset, random mode) starts a new search
+ *
+ * 5. TWO VALUES PER CELL
+ *    - g   = current distance estimate
+ *    - rhs = one-step lookahead: g[parent] + 1, or the root's own value
+ *    - Cell is "consistent" when g == rhs; only inconsistent cells are
+ *      in the priority queue, ordered by
+ *      [min(g, rhs) + h(s, Pacman) + km ; min(g, rhs)]
+ *
+ * 6. MEASURABLE - getLastExpandedCount() / getTotalExpanded() count cell
+ *    expansions, getLastDeletedCount() the cells cut from the tree
+ *
+ * Reference: Sun, Yeoh, Koenig - "Moving Target D* Lite" (AAMAS 2010)
+ */
+public class DStarLitePathfinder implements Pathfinder {
+
+    // "Infinite" distance (small enough that adding never overflows)
+    private static final int INF = Integer.MAX_VALUE / 4;
+
+    private GameState game;
+
+    // Grid the current search state belongs to (a new level resets it)
+    private WallGrid grid;
+    private int rows;
+    private int cols;
+
+    private int[] g;
+    private int[] rhs;
+    private int[] parent;    // Tree parent of a cell, -1 for the root and cells outside the tree
+
+    // Indexed binary heap of cells ordered by (key1, key2)
+    private int[] heap;
+    private int[] heapPos;   // Position of a cell in heap[], -1 if absent
+    private int[] key1;
+    private int[] key2;
+    private int heapSize;
+
+    // Scratch buffers for the deletion
+    private int[] stack;
+    private int[] deleted;
+
+    private int start = -1;      // Ghost's cell (root of the tree)
+    private int goal = -1;       // Pacman's cell
+    private int km = 0;
+
+    // === STATISTICS ===
+    private int lastExpanded = 0;
+    private int lastDeleted = 0;
+    private long totalExpanded = 0;
+    private boolean lastIncremental = false;
+
+    /**
+     * Constructor - Initialize pathfinder with game reference
+     *
+     * @param game - Game state containing the wall grid
+     */
+    public DStarLitePathfinder(GameState game) {
+        this.game = game;
+    }
+
+    /**
+     * Find (or continue) the shortest path from the ghost to Pacman
+     *
+     * ALGORITHM STEPS:
+     * Step 1: New level, first call or ghost outside the tree: start from scratch
+     * Step 2: Pacman moved: km += h(old goal, new goal)
+     * Step 3: Ghost moved: keep its subtree, delete the rest
+     * Step 4: Search until Pacman's cell is consistent
+     * Step 5: Follow the parents from Pacman back to the ghost
+     */
+    @Override
+    public boolean findPath(int startX, int startY, int targetX, int targetY, PathLinkedList path) {
+        lastExpanded = 0;
+        lastDeleted = 0;
+        path.clear();
+
+        int startRow = startY / game.tileSize;
+        int startCol = startX / game.tileSize;
+        int targetRow = targetY / game.tileSize;
+        int targetCol = targetX / game.tileSize;
+
+        // Edge case: Already at target
+        if (startRow == targetRow && startCol == targetCol) {
+            return true;
+        }
+
+        WallGrid currentGrid = game.wallGrid;
+        if (!isOpen(currentGrid, startRow, startCol) || !isOpen(currentGrid, targetRow, targetCol)) {
+            return false;  // Off-grid or inside a wall: unreachable
+        }
+
+        int newStart = startRow * currentGrid.getColumnCount() + startCol;
+        int newGoal = targetRow * currentGrid.getColumnCount() + targetCol;
+
+        if (currentGrid != grid || start < 0 || rhs[newStart] >= INF) {
+            // === STEP 1: Fresh search ===
+            initialize(currentGrid, newStart, newGoal);
+            lastIncremental = false;
+        } else {
+            lastIncremental = true;
+
+            // === STEP 2: Pacman moved ===
+            if (newGoal != goal) {
+                km += heuristic(goal, newGoal);
+                goal = newGoal;
+            }
+
+            // === STEP 3: Ghost moved ===
+            if (newStart != start) {
+                deleteOutsideSubtree(newStart);
+            }
+        }
+
+        // === STEP 4: Search ===
+        computeShortestPath();
+        totalExpanded += lastExpanded;
+
+        if (rhs[goal] >= INF) {
+            return false;
+        }
+
+        // === STEP 5: Extract path ===
+        return extractPath(path);
+    }
+
+    @Override
+    public int getLastExpandedCount() {
+        return lastExpanded;
+    }
+
+    /**
+     * @return cells cut from the search tree by the last call (ghost moved)
+     */
+    public int getLastDeletedCount() {
+        return lastDeleted;
+    }
+
+    /**
+     * @return cells expanded over all calls since creation
+     */
+    public long getTotalExpanded() {
+        return totalExpanded;
+    }
+
+    /**
+     * @return true if the last call reused existing state instead of starting over
+     */
+    public boolean wasLastSearchIncremental() {
+        return lastIncremental;
+    }
+
+    // === CORE ALGORITHM ===
+
+    private void initialize(WallGrid newGrid, int newStart, int newGoal) {
+        grid = newGrid;
+        rows = grid.getRowCount();
+        cols = grid.getColumnCount();
+        int cellCount = rows * cols;
+
+        if (g == null || g.length != cellCount) {
+            g = new int[cellCount];
+            rhs = new int[cellCount];
+            parent = new int[cellCount];
+            heap = new int[cellCount];
+            heapPos = new int[cellCount];
+            key1 = new int[cellCount];
+            key2 = new int[cellCount];
+            stack = new int[cellCount];
+            deleted = new int[cellCount];
+        }
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        Arrays.fill(parent, -1);
+        Arrays.fill(heapPos, -1);
+        heapSize = 0;
+
+        start = newStart;
+        goal = newGoal;
+        km = 0;
+
+        rhs[start] = 0;
+        updateVertex(start);
+    }
+
+    /**
+     * Process inconsistent cells until Pacman's cell is settled
+     */
+    private void computeShortestPath() {
+        while (heapSize > 0 && (topIsBeforeGoal() || rhs[goal] > g[goal])) {
+            int u = heap[0];
+            int oldKey1 = key1[u];
+            int oldKey2 = key2[u];
+            int newKey1 = calculateKey1(u);
+            int newKey2 = calculateKey2(u);
+
+            if (oldKey1 < newKey1 || (oldKey1 == newKey1 && oldKey2 < newKey2)) {
+                // Key grew because Pacman moved: re-queue with the fresh key
+                key1[u] = newKey1;
+                key2[u] = newKey2;
+                siftDown(0);
+                continue;
+            }
+
+            lastExpanded++;
+            int row = u / cols;
+            int col = u % cols;
+
+            if (g[u] > rhs[u]) {
+                // Over-consistent: distance got shorter, accept it
+                g[u] = rhs[u];
+                removeFromHeap(u);
+                int candidate = g[u] + 1;
+                if (isOpen(grid, row - 1, col)) lowerRhs(u - cols, u, candidate);
+                if (isOpen(grid, row + 1, col)) lowerRhs(u + cols, u, candidate);
+                if (isOpen(grid, row, col - 1)) lowerRhs(u - 1, u, candidate);
+                if (isOpen(grid, row, col + 1)) lowerRhs(u + 1, u, candidate);
+            } else {
+                // Under-consistent: distance got longer, recompute u and its children
+                g[u] = INF;
+                refresh(u);
+                if (isOpen(grid, row - 1, col) && parent[u - cols] == u) refresh(u - cols);
+                if (isOpen(grid, row + 1, col) && parent[u + cols] == u) refresh(u + cols);
+                if (isOpen(grid, row, col - 1) && parent[u - 1] == u) refresh(u - 1);
+                if (isOpen(grid, row, col + 1) && parent[u + 1] == u) refresh(u + 1);
+            }
+        }
+    }
+
+    /**
+     * The ghost moved to newStart: keep the subtree below it, delete the rest
+     *
+     * PRESENTATION POINTS:
+     * - The cells to delete are the old tree minus the new subtree: walk
+     *   down from the old root along parent links and stop at newStart
+     * - No edge costs change in a level, so the kept cells stay consistent
+     * - A deleted cell next to a kept one gets its rhs back right away and
+     *   waits in the queue; the others are simply forgotten
+     */
+    private void deleteOutsideSubtree(int newStart) {
+        int deletedCount = 0;
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int u = stack[--top];
+            if (u == newStart) {
+                continue;
+            }
+            deleted[deletedCount++] = u;
+            int row = u / cols;
+            int col = u % cols;
+            if (isOpen(grid, row - 1, col) && parent[u - cols] == u) stack[top++] = u - cols;
+            if (isOpen(grid, row + 1, col) && parent[u + cols] == u) stack[top++] = u + cols;
+            if (isOpen(grid, row, col - 1) && parent[u - 1] == u) stack[top++] = u - 1;
+            if (isOpen(grid, row, col + 1) && parent[u + 1] == u) stack[top++] = u + 1;
+        }
+
+        start = newStart;
+        parent[start] = -1;
+
+        for (int i = 0; i < deletedCount; i++) {
+            int cell = deleted[i];
+            g[cell] = INF;
+            rhs[cell] = INF;
+            parent[cell] = -1;
+            if (heapPos[cell] >= 0) {
+                removeFromHeap(cell);
+            }
+        }
+        for (int i = 0; i < deletedCount; i++) {
+            int cell = deleted[i];
+            setBestParent(cell);
+            if (rhs[cell] < INF) {
+                updateVertex(cell);
+            }
+        }
+        lastDeleted = deletedCount;
+    }
+
+    private void lowerRhs(int cell, int from, int candidate) {
+        if (cell != start && candidate < rhs[cell]) {
+            rhs[cell] = candidate;
+            parent[cell] = from;
+            updateVertex(cell);
+        }
+    }
+
+    /**
+     * Recompute rhs and parent of a cell whose parent's distance changed
+     */
+    private void refresh(int cell) {
+        if (cell != start) {
+            setBestParent(cell);
+        }
+        updateVertex(cell);
+    }
+
+    /**
+     * rhs = 1 + smallest neighbor distance, parent = that neighbor (or none)
+     */
+    private void setBestParent(int cell) {
+        int row = cell / cols;
+        int col = cell % cols;
+        int best = INF;
+        int bestParent = -1;
+        if (isOpen(grid, row - 1, col) && g[cell - cols] < best) { best = g[cell - cols]; bestParent = cell - cols; }
+        if (isOpen(grid, row + 1, col) && g[cell + cols] < best) { best = g[cell + cols]; bestParent = cell + cols; }
+        if (isOpen(grid, row, col - 1) && g[cell - 1] < best)    { best = g[cell - 1];    bestParent = cell - 1; }
+        if (isOpen(grid, row, col + 1) && g[cell + 1] < best)    { best = g[cell + 1];    bestParent = cell + 1; }
+        rhs[cell] = best >= INF ? INF : best + 1;
+        parent[cell] = bestParent;
+    }
+
+    /**
+     * Put an inconsistent cell in the queue (or update its key), take a consistent one out
+     */
+    private void updateVertex(int cell) {
+        if (g[cell] != rhs[cell]) {
+            key1[cell] = calculateKey1(cell);
+            key2[cell] = calculateKey2(cell);
+            if (heapPos[cell] < 0) {
+                heap[heapSize] = cell;
+                heapPos[cell] = heapSize;
+                heapSize++;
+            }
+            siftUp(heapPos[cell]);
+            siftDown(heapPos[cell]);
+        } else if (heapPos[cell] >= 0) {
+            removeFromHeap(cell);
+        }
+    }
+
+    private boolean topIsBeforeGoal() {
+        int top = heap[0];
+        int goalKey1 = calculateKey1(goal);
+        return key1[top] < goalKey1 || (key1[top] == goalKey1 && key2[top] < calculateKey2(goal));
+    }
+
+    private int calculateKey1(int cell) {
+        int distance = Math.min(g[cell], rhs[cell]);
+        return distance >= INF ? INF : distance + heuristic(cell, goal) + km;
+    }
+
+    private int calculateKey2(int cell) {
+        return Math.min(g[cell], rhs[cell]);
+    }
+
+    private int heuristic(int a, int b) {
+        return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+    }
+
+    private static boolean isOpen(WallGrid grid, int row, int col) {
+        return row >= 0 && row < grid.getRowCount() && col >= 0 && col < grid.getColumnCount()
+                && !grid.isWall(row, col);
+    }
+
+    /**
+     * Walk the parent links from Pacman back to the ghost, adding directions in front
+     */
+    private boolean extractPath(PathLinkedList path) {
+        int current = goal;
+        int steps = rows * cols;
+
+        while (current != start && steps-- > 0) {
+            int previous = parent[current];
+            if (previous < 0) {
+                path.clear();
+                return false;
+            }
+            if (current == previous - cols) {
+                path.addFirst('U');
+            } else if (current == previous + cols) {
+                path.addFirst('D');
+            } else if (current == previous - 1) {
+                path.addFirst('L');
+            } else {
+                path.addFirst('R');
+            }
+            current = previous;
+        }
+        return current == start;
+    }
+
+    // === INDEXED BINARY HEAP ===
+
+    private boolean less(int a, int b) {
+        return key1[a] < key1[b] || (key1[a] == key1[b] && key2[a] < key2[b]);
+    }
+
+    private void siftUp(int i) {
+        int cell = heap[i];
+        while (i > 0) {
+            int parentIndex = (i - 1) >>> 1;
+            if (!less(cell, heap[parentIndex])) break;
+            heap[i] = heap[parentIndex];
+            heapPos[heap[i]] = i;
+            i = parentIndex;
+        }
+        heap[i] = cell;
+        heapPos[cell] = i;
+    }
+
+    private void siftDown(int i) {
+        int cell = heap[i];
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && less(heap[child + 1], heap[child])) child++;
+            if (!less(heap[child], cell)) break;
+            heap[i] = heap[child];
+            heapPos[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = cell;
+        heapPos[cell] = i;
+    }
+
+    private void removeFromHeap(int cell) {
+        int i = heapPos[cell];
+        heapPos[cell] = -1;
+        heapSize--;
+        if (i == heapSize) {
+            return;
+        }
+        int moved = heap[heapSize];
+        heap[i] = moved;
+        heapPos[moved] = i;
+        siftUp(i);
+        siftDown(heapPos[moved]);
+    }
+}
@@ -0,0 +1,155 @@
+package entity;
+
+import java.util.Arrays;
+
+/**
+ * DistanceField - Shared "distance to Pacman" flow field over the tile grid
+ *
+ * PRESENTATION POINTS:
+ *
+ * 1. REVERSE BFS
+ *    - Instead of every ghost searching FROM itself TO Pacman,
+ *      one BFS runs FROM Pacman and labels every cell with its distance
+ *    - N ghosts share one search instead of running N searches
+ *
+ * 2. GRADIENT DESCENT
+ *    - A ghost looks at its 4 neighbors and steps to the one closer to Pacman
+ *    - Following smaller numbers always leads along a shortest path
+ *
+ * 3. UPDATED ONLY WHEN PACMAN CHANGES TILE
+ *    - moveSource() returns immediately if Pacman is still in the same cell
+ *    - Pacman needs 4 ticks to cross a tile, so the BFS runs at most
+ *      once per tick and usually once every 4 ticks
+ *    - A full BFS is cheaper than repairing the old field: moving the
+ *      source by one tile changes almost every distance in a maze by ±1
+ *      (measured ~10x slower with an LPA*-style repair on tileMap)
+ */
+public class DistanceField {
+
+    // Distance of walls and cells Pacman cannot reach (small enough that +1 never overflows)
+    public static final int UNREACHABLE = Integer.MAX_VALUE / 2;
+
+    private final WallGrid grid;
+    private final int rows;
+    private final int cols;
+
+    // Distance of every cell to Pacman
+    private final int[] g;
+
+    // Cell index of Pacman, or -1 when Pacman is off the grid / inside a wall
+    private int source = -1;
+
+    private final int[] bfsQueue;
+
+    // Cells processed by the last update
+    private int lastExpanded = 0;
+
+    /**
+     * Constructor - Create a field for one level (no source yet)
+     *
+     * @param grid - The level's wall grid
+     */
+    public DistanceField(WallGrid grid) {
+        this.grid = grid;
+        this.rows = grid.getRowCount();
+        this.cols = grid.getColumnCount();
+        this.g = new int[rows * cols];
+        this.bfsQueue = new int[rows * cols];
+        Arrays.fill(g, UNREACHABLE);
+    }
+
+    /**
+     * Move the field's source to Pacman's cell
+     *
+     * @param row - Pacman's grid row
+     * @param col - Pacman's grid column
+     */
+    public void moveSource(int row, int col) {
+        int cell = isOpen(row, col) ? row * cols + col : -1;
+        if (cell == source) {
+            lastExpanded = 0;  // Same tile: field is still valid
+            return;
+        }
+        recompute(cell);
+    }
+
+    /**
+     * Distance from a cell to Pacman in tiles
+     *
+     * @return distance, or UNREACHABLE
+     */
+    public int distance(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return UNREACHABLE;
+        }
+        return g[row * cols + col];
+    }
+
+    /**
+     * Direction that moves one tile closer to Pacman
+     *
+     * PRESENTATION POINT:
+     * - Checks neighbors in BFS order (U, D, L, R) and picks the first
+     *   with the smallest distance
+     *
+     * @param row - Ghost's grid row
+     * @param col - Ghost's grid column
+     * @return 'U', 'D', 'L' or 'R', or '\0' if already there or unreachable
+     */
+    public char descend(int row, int col) {
+        int here = distance(row, col);
+        if (here == 0 || here >= UNREACHABLE) {
+            return '\0';
+        }
+
+        char best = '\0';
+        int bestDistance = here;
+        int d;
+        if ((d = distance(row - 1, col)) < bestDistance) { bestDistance = d; best = 'U'; }
+        if ((d = distance(row + 1, col)) < bestDistance) { bestDistance = d; best = 'D'; }
+        if ((d = distance(row, col - 1)) < bestDistance) { bestDistance = d; best = 'L'; }
+        if ((d = distance(row, col + 1)) < bestDistance) { best = 'R'; }
+        return best;
+    }
+
+    /**
+     * @return number of cells processed by the last moveSource() call
+     */
+    public int getLastExpanded() {
+        return lastExpanded;
+    }
+
+    /**
+     * Reverse BFS from the source over the whole grid
+     */
+    private void recompute(int cell) {
+        Arrays.fill(g, UNREACHABLE);
+        source = cell;
+        lastExpanded = 0;
+        if (cell < 0) {
+            return;  // Pacman off the grid: everything unreachable
+        }
+
+        int head = 0;
+        int tail = 0;
+        g[cell] = 0;
+        bfsQueue[tail++] = cell;
+
+        while (head < tail) {
+            int current = bfsQueue[head++];
+            int next = g[current] + 1;
+            int row = current / cols;
+            int col = current % cols;
+            if (row > 0        && isOpen(row - 1, col) && g[current - cols] == UNREACHABLE) { g[current - cols] = next; bfsQueue[tail++] = current - cols; }
+            if (row < rows - 1 && isOpen(row + 1, col) && g[current + cols] == UNREACHABLE) { g[current + cols] = next; bfsQueue[tail++] = current + cols; }
+            if (col > 0        && isOpen(row, col - 1) && g[current - 1] == UNREACHABLE)    { g[current - 1] = next;    bfsQueue[tail++] = current - 1; }
+            if (col < cols - 1 && isOpen(row, col + 1) && g[current + 1] == UNREACHABLE)    { g[current + 1] = next;    bfsQueue[tail++] = current + 1; }
+        }
+
+        lastExpanded = tail;
+    }
+
+    private boolean isOpen(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && !grid.isWall(row, col);
+    }
+}
@@ -1,7 +1,7 @@
 package entity;
 
 import java.awt.*;
-import main.GamePanel;
+import main.GameState;
 
 /**
  * Entity - Base class for all game objects (Pacman, Ghosts, Walls, Food)
@@ -13,8 +13,8 @@ import main.GamePanel;
  * 4. Follows DRY principle (Don't Repeat Yourself)
  */
 public class Entity {
-    // Reference to the game panel (needed for game rules and collision detection)
-    public GamePanel gp;
+    // Reference to the game state (needed for game rules and collision detection)
+    public GameState game;
     
     // Current position in pixels
     public int x, y;
@@ -28,6 +28,9 @@ public class Entity {
     // Starting position (used for reset when game restarts)
     public int startX, startY;
 
+    // Position before the current tick (used to draw between two ticks)
+    public int prevX, prevY;
+
     /**
      * Constructor - Initialize a new entity
      * 
@@ -36,20 +39,22 @@ public class Entity {
      * - Initializes all required fields
      * - Saves starting position for reset functionality
      * 
-     * @param gp - Reference to the game panel
+     * @param game - Reference to the game state
      * @param x - Initial X position (pixels)
      * @param y - Initial Y position (pixels)
      * @param width - Entity width (pixels)
      * @param height - Entity height (pixels)
      */
-    public Entity(GamePanel gp, int x, int y, int width, int height) {
-        this.gp = gp;
+    public Entity(GameState game, int x, int y, int width, int height) {
+        this.game = game;
         this.x = x;
         this.y = y;
         this.width = width;
         this.height = height;
         this.startX = x;  // Remember starting X for reset
         this.startY = y;  // Remember starting Y for reset
+        this.prevX = x;
+        this.prevY = y;
     }
 
     /**
@@ -64,10 +69,72 @@ public class Entity {
      */
     public void draw(Graphics g) {
         if (img != null) {
-            g.drawImage(img, x, y, width, height, null);
+            drawImageAt(g, x, y);
+        }
+    }
+
+    /**
+     * Draw the entity part of the way between its previous and current position
+     * 
+     * PRESENTATION POINTS:
+     * - LINEAR INTERPOLATION: drawn = prev + (current - prev) * alpha
+     * - Lets the screen refresh faster than the game ticks and still move smoothly
+     * - Jumps longer than the entity itself (teleport, reset) are not
+     *   interpolated, otherwise the sprite would slide across the maze
+     * 
+     * @param g - Graphics object for drawing
+     * @param alpha - 0 = previous tick, 1 = current tick
+     */
+    public void draw(Graphics g, double alpha) {
+        if (img == null) {
+            return;
+        }
+        drawImageAt(g, drawX(alpha), drawY(alpha));
+    }
+
+    /**
+     * Where draw(g, alpha) puts the entity (also what a camera should follow)
+     *
+     * PRESENTATION POINT:
+     * - A jump further than one entity size (teleport, respawn) is not
+     *   interpolated: the entity appears straight at its new position
+     */
+    public int drawX(double alpha) {
+        if (Math.abs(x - prevX) <= width && Math.abs(y - prevY) <= height) {
+            return prevX + (int) Math.round((x - prevX) * alpha);
+        }
+        return x;
+    }
+
+    public int drawY(double alpha) {
+        if (Math.abs(x - prevX) <= width && Math.abs(y - prevY) <= height) {
+            return prevY + (int) Math.round((y - prevY) * alpha);
+        }
+        return y;
+    }
+
+    /**
+     * Copy the image to the screen, scaling only if it is not already entity-sized
+     * 
+     * PRESENTATION POINT:
+     * - Sprites from the atlas are pre-scaled, so this is a plain copy (blit)
+     */
+    private void drawImageAt(Graphics g, int drawX, int drawY) {
+        if (img.getWidth(null) == width && img.getHeight(null) == height) {
+            g.drawImage(img, drawX, drawY, null);
+        } else {
+            g.drawImage(img, drawX, drawY, width, height, null);
         }
     }
 
+    /**
+     * Remember the current position as the previous one (start of a tick)
+     */
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
+    }
+
     /**
      * Reset entity to starting position
      * 
@@ -78,6 +145,8 @@ public class Entity {
     public void reset() {
         this.x = startX;
         this.y = startY;
+        this.prevX = startX;
+        this.prevY = startY;
     }
 
     /**
@@ -93,4 +162,33 @@ public class Entity {
     public Rectangle getBounds() {
         return new Rectangle(x, y, width, height);
     }
+
+    /**
+     * Check if this entity's box overlaps another box
+     * 
+     * PRESENTATION POINTS:
+     * - AABB test (axis-aligned bounding boxes) on plain ints
+     * - Same result as getBounds().intersects(...) but allocates nothing
+     * - Boxes overlap unless one is fully left/right/above/below the other
+     * 
+     * @param ox - Other box left (pixels)
+     * @param oy - Other box top (pixels)
+     * @param ow - Other box width
+     * @param oh - Other box height
+     * @return true if the boxes share at least one pixel
+     */
+    public boolean overlaps(int ox, int oy, int ow, int oh) {
+        return x < ox + ow && ox < x + width
+            && y < oy + oh && oy < y + height;
+    }
+
+    /**
+     * Check if this entity overlaps another entity
+     * 
+     * @param other - Entity to test against
+     * @return true if the two boxes overlap
+     */
+    public boolean overlaps(Entity other) {
+        return overlaps(other.x, other.y, other.width, other.height);
+    }
 }
@@ -0,0 +1,184 @@
+package entity;
+
+import java.util.List;
+
+import main.GameState;
+
+/**
+ * EntityStore - The ghosts' state as parallel primitive arrays
+ *
+ * PRESENTATION POINTS:
+ * 1. STRUCTURE OF ARRAYS - x[i], y[i], xVelocity[i], ... instead of one
+ *    object per ghost: a loop over all ghosts reads a few dense arrays
+ *    instead of jumping between objects spread over the heap
+ * 2. SAME RULES AS Ghost - the store is a GhostRules: decide(), move()
+ *    and resetMode() are the very code a Ghost object runs, here on slot
+ *    i of the arrays, so a game plays exactly the same with or without it
+ * 3. THE STORE IS THE TRUTH - while it is in use the Ghost objects are
+ *    not read or written by a tick. publish() copies the arrays into them,
+ *    and GameState only calls it when someone asks for the ghosts
+ *    (drawing, agents, the server, stateHash())
+ *
+ * A ghost's path and pathfinder are objects anyway: the store keeps
+ * references to the Ghost's own ones, so they never need copying.
+ *
+ * Used by GameState when -Dpacman.entityStore=true.
+ */
+public final class EntityStore extends GhostRules {
+
+    private final List<Ghost> ghosts;
+    private final int count;
+
+    // Slot i is ghosts.get(i)
+    private final int[] x, y;
+    private final int[] prevX, prevY;
+    private final int[] startX, startY;
+    private final int[] xVelocity, yVelocity;
+    private final char[] direction;
+
+    // AI mode: true = CHASE, false = RANDOM
+    private final boolean[] chasing;
+    private final int[] recalculateCounter;
+
+    // The ghosts' own path lists and pathfinders (null = shared navigation)
+    private final PathLinkedList[] paths;
+    private final Pathfinder[] pathfinders;
+
+    // Arrays changed since the last publish()
+    private boolean dirty = false;
+
+    /**
+     * Constructor - Copy the current ghosts of the game into arrays
+     *
+     * @param game - Game state whose ghosts are stored
+     * @param ghosts - The game's ghost list (slot order)
+     */
+    public EntityStore(GameState game, List<Ghost> ghosts) {
+        super(game);
+        this.ghosts = ghosts;
+        this.count = ghosts.size();
+        this.x = new int[count];
+        this.y = new int[count];
+        this.prevX = new int[count];
+        this.prevY = new int[count];
+        this.startX = new int[count];
+        this.startY = new int[count];
+        this.xVelocity = new int[count];
+        this.yVelocity = new int[count];
+        this.direction = new char[count];
+        this.chasing = new boolean[count];
+        this.recalculateCounter = new int[count];
+        this.paths = new PathLinkedList[count];
+        this.pathfinders = new Pathfinder[count];
+
+        for (int i = 0; i < count; i++) {
+            Ghost ghost = ghosts.get(i);
+            x[i] = ghost.x;
+            y[i] = ghost.y;
+            prevX[i] = ghost.prevX;
+            prevY[i] = ghost.prevY;
+            startX[i] = ghost.startX;
+            startY[i] = ghost.startY;
+            xVelocity[i] = ghost.xVelocity;
+            yVelocity[i] = ghost.yVelocity;
+            direction[i] = ghost.direction;
+            chasing[i] = ghost.isChasing;
+            recalculateCounter[i] = ghost.pathRecalculateCounter;
+            paths[i] = ghost.currentPath;
+            pathfinders[i] = ghost.pathfinder;
+        }
+    }
+
+    /**
+     * Write the arrays into the Ghost objects if anything changed since last time
+     *
+     * PRESENTATION POINT:
+     * - One pass over the objects per reader, not one per tick: a batch run
+     *   that never looks at game.getGhosts() never pays for it
+     */
+    public void publish() {
+        if (!dirty) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            Ghost ghost = ghosts.get(i);
+            ghost.x = x[i];
+            ghost.y = y[i];
+            ghost.prevX = prevX[i];
+            ghost.prevY = prevY[i];
+            ghost.xVelocity = xVelocity[i];
+            ghost.yVelocity = yVelocity[i];
+            ghost.direction = direction[i];
+            ghost.isChasing = chasing[i];
+            ghost.pathRecalculateCounter = recalculateCounter[i];
+        }
+        dirty = false;
+    }
+
+    /**
+     * Remember the current positions as the previous ones (start of a tick)
+     *
+     * PRESENTATION POINTS:
+     * - Two bulk array copies instead of one call per ghost
+     * - Every tick starts here, so this is where the objects go out of date
+     *   (decide() and move() only run after it)
+     */
+    public void savePositions() {
+        System.arraycopy(x, 0, prevX, 0, count);
+        System.arraycopy(y, 0, prevY, 0, count);
+        dirty = true;
+    }
+
+    /**
+     * Ghost.reset() for every slot, in slot order (one random direction each)
+     */
+    public void reset() {
+        for (int i = 0; i < count; i++) {
+            x[i] = startX[i];
+            y[i] = startY[i];
+            prevX[i] = startX[i];
+            prevY[i] = startY[i];
+            resetMode(i);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Check if slot i overlaps Pacman (same test as Entity.overlaps)
+     *
+     * @param i - Ghost slot
+     * @param pacman - Pacman entity
+     * @return true if the boxes share at least one pixel
+     */
+    public boolean overlaps(int i, Pacman pacman) {
+        return x[i] < pacman.x + pacman.width && pacman.x < x[i] + size
+            && y[i] < pacman.y + pacman.height && pacman.y < y[i] + size;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // === SLOT ACCESS FOR GhostRules ===
+
+    @Override int x(int i) { return x[i]; }
+    @Override int y(int i) { return y[i]; }
+    @Override void setPosition(int i, int newX, int newY) { x[i] = newX; y[i] = newY; }
+    @Override char direction(int i) { return direction[i]; }
+    @Override int xVelocity(int i) { return xVelocity[i]; }
+    @Override int yVelocity(int i) { return yVelocity[i]; }
+
+    @Override
+    void setMotion(int i, char newDir, int newXVelocity, int newYVelocity) {
+        direction[i] = newDir;
+        xVelocity[i] = newXVelocity;
+        yVelocity[i] = newYVelocity;
+    }
+
+    @Override boolean isChasing(int i) { return chasing[i]; }
+    @Override void setChasing(int i, boolean value) { chasing[i] = value; }
+    @Override int recalculateCounter(int i) { return recalculateCounter[i]; }
+    @Override void setRecalculateCounter(int i, int counter) { recalculateCounter[i] = counter; }
+    @Override PathLinkedList path(int i) { return paths[i]; }
+    @Override Pathfinder pathfinder(int i) { return pathfinders[i]; }
+}
@@ -0,0 +1,267 @@
+package entity;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import main.GameState;
+
+/**
+ * FastBFSPathfinder - Allocation-free Breadth-First Search for ghost pathfinding
+ *
+ * PRESENTATION POINTS:
+ *
+ * 1. SAME ALGORITHM AS BFSPathfinder
+ *    - Same findPath() contract, same neighbor order (U, D, L, R)
+ *    - Returns exactly the same shortest path
+ *
+ * 2. PRIMITIVE ARRAYS INSTEAD OF OBJECTS
+ *    - Cells are plain ints: index = row * columnCount + col
+ *    - Queue: preallocated int[] (each cell is enqueued at most once,
+ *      so it never needs to grow or wrap)
+ *    - Parent links: int[] instead of PathfindingNode references
+ *    - Visited: int[] "stamp" array instead of a HashSet
+ *
+ * 3. GENERATION STAMPING
+ *    - Each search bumps a counter; a cell is visited if
+ *      visitedStamp[cell] == current stamp
+ *    - No need to clear the array between searches: O(1) reset
+ *
+ * 4. ZERO GARBAGE
+ *    - Arrays are allocated once per grid size and reused
+ *    - The path is written into the caller's reusable PathLinkedList
+ *
+ * ALLOCATION TRACKING MODE:
+ * - setAllocationTracking(true) measures bytes allocated by each findPath()
+ *   call (HotSpot thread allocation counter)
+ * - getAllocationReport() summarizes bytes per search and bytes per second
+ */
+public class FastBFSPathfinder implements Pathfinder {
+
+    private GameState game;
+
+    // Preallocated search buffers (sized to rowCount × columnCount)
+    private int[] queue;
+    private int[] parent;
+    private int[] visitedStamp;
+
+    // Current search generation
+    private int stamp = 0;
+
+    // Cells dequeued by the last search
+    private int lastExpanded = 0;
+
+    // === ALLOCATION TRACKING ===
+    private boolean trackAllocations = false;
+    private com.sun.management.ThreadMXBean threadBean;
+    private long trackedCalls = 0;
+    private long trackedBytes = 0;
+    private long trackedNanos = 0;
+
+    /**
+     * Constructor - Initialize pathfinder with game reference
+     *
+     * @param game - Game state containing the wall grid
+     */
+    public FastBFSPathfinder(GameState game) {
+        this.game = game;
+    }
+
+    /**
+     * Find shortest path from start to target using BFS on primitive arrays
+     *
+     * @param startX - Ghost's current X position (pixels)
+     * @param startY - Ghost's current Y position (pixels)
+     * @param targetX - Pacman's X position (pixels)
+     * @param targetY - Pacman's Y position (pixels)
+     * @param path - List that receives the directions (cleared first)
+     * @return true if a path was found, false if unreachable
+     */
+    @Override
+    public boolean findPath(int startX, int startY, int targetX, int targetY, PathLinkedList path) {
+        if (!trackAllocations) {
+            return search(startX, startY, targetX, targetY, path);
+        }
+
+        long bytesBefore = threadBean.getCurrentThreadAllocatedBytes();
+        long timeBefore = System.nanoTime();
+
+        boolean found = search(startX, startY, targetX, targetY, path);
+
+        trackedNanos += System.nanoTime() - timeBefore;
+        trackedBytes += threadBean.getCurrentThreadAllocatedBytes() - bytesBefore;
+        trackedCalls++;
+        return found;
+    }
+
+    /**
+     * The BFS itself
+     *
+     * ALGORITHM STEPS:
+     * Step 1: Convert pixels to cell indices
+     * Step 2: Bump the stamp (marks every cell as unvisited in O(1))
+     * Step 3: Standard BFS loop over the int queue
+     * Step 4: Rebuild directions by following parent indices
+     */
+    private boolean search(int startX, int startY, int targetX, int targetY, PathLinkedList path) {
+        path.clear();
+        WallGrid grid = game.wallGrid;
+        int rows = grid.getRowCount();
+        int cols = grid.getColumnCount();
+        lastExpanded = 0;
+
+        // === STEP 1: Pixels → cells ===
+        int startRow = startY / game.tileSize;
+        int startCol = startX / game.tileSize;
+        int targetRow = targetY / game.tileSize;
+        int targetCol = targetX / game.tileSize;
+
+        // Edge case: Already at target
+        if (startRow == targetRow && startCol == targetCol) {
+            return true;
+        }
+
+        // Target outside the grid (e.g. Pacman inside a teleport tunnel) is unreachable
+        if (startRow < 0 || startRow >= rows || startCol < 0 || startCol >= cols ||
+            targetRow < 0 || targetRow >= rows || targetCol < 0 || targetCol >= cols) {
+            return false;
+        }
+
+        ensureCapacity(rows * cols);
+
+        // === STEP 2: New generation ===
+        nextStamp();
+
+        int start = startRow * cols + startCol;
+        int target = targetRow * cols + targetCol;
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visitedStamp[start] = stamp;
+        parent[start] = -1;
+
+        // === STEP 3: BFS MAIN LOOP ===
+        while (head < tail) {
+            int current = queue[head++];
+            lastExpanded = head;
+
+            if (current == target) {
+                reconstructPath(target, cols, path);
+                return true;
+            }
+
+            int row = current / cols;
+            int col = current % cols;
+
+            // Same order as BFSPathfinder: Up, Down, Left, Right
+            if (row > 0)        tail = explore(current, current - cols, tail, grid, row - 1, col);
+            if (row < rows - 1) tail = explore(current, current + cols, tail, grid, row + 1, col);
+            if (col > 0)        tail = explore(current, current - 1, tail, grid, row, col - 1);
+            if (col < cols - 1) tail = explore(current, current + 1, tail, grid, row, col + 1);
+        }
+
+        return false;
+    }
+
+    @Override
+    public int getLastExpandedCount() {
+        return lastExpanded;
+    }
+
+    /**
+     * Enqueue a neighbor if it is free and not yet visited
+     *
+     * @return new queue tail
+     */
+    private int explore(int current, int neighbor, int tail, WallGrid grid, int row, int col) {
+        if (visitedStamp[neighbor] == stamp || grid.isWall(row, col)) {
+            return tail;
+        }
+        visitedStamp[neighbor] = stamp;
+        parent[neighbor] = current;
+        queue[tail] = neighbor;
+        return tail + 1;
+    }
+
+    /**
+     * Follow parent indices from target back to start
+     *
+     * PRESENTATION POINT:
+     * - Index difference gives the direction:
+     *   -cols = Up, +cols = Down, -1 = Left, +1 = Right
+     */
+    private void reconstructPath(int target, int cols, PathLinkedList path) {
+        int current = target;
+
+        while (parent[current] != -1) {
+            int diff = current - parent[current];
+            if (diff == -cols) path.addFirst('U');
+            else if (diff == cols) path.addFirst('D');
+            else if (diff == -1) path.addFirst('L');
+            else path.addFirst('R');
+            current = parent[current];
+        }
+    }
+
+    /**
+     * Allocate buffers only when the grid grows
+     */
+    private void ensureCapacity(int cellCount) {
+        if (queue == null || queue.length < cellCount) {
+            queue = new int[cellCount];
+            parent = new int[cellCount];
+            visitedStamp = new int[cellCount];
+            stamp = 0;
+        }
+    }
+
+    /**
+     * Advance the generation; clear once every 2^31 searches when the stamp overflows
+     */
+    private void nextStamp() {
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visitedStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    // === ALLOCATION TRACKING MODE ===
+
+    /**
+     * Enable or disable per-search allocation measurement
+     *
+     * @param enabled - true to start measuring (resets counters)
+     */
+    public void setAllocationTracking(boolean enabled) {
+        if (enabled && threadBean == null) {
+            threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.trackAllocations = enabled;
+        this.trackedCalls = 0;
+        this.trackedBytes = 0;
+        this.trackedNanos = 0;
+    }
+
+    /**
+     * @return average bytes allocated per findPath() call while tracking
+     */
+    public double getAllocatedBytesPerSearch() {
+        return trackedCalls == 0 ? 0 : (double) trackedBytes / trackedCalls;
+    }
+
+    /**
+     * @return bytes allocated per second of search time while tracking
+     */
+    public double getAllocationRate() {
+        return trackedNanos == 0 ? 0 : trackedBytes * 1_000_000_000.0 / trackedNanos;
+    }
+
+    /**
+     * @return human readable summary of the tracked searches
+     */
+    public String getAllocationReport() {
+        return String.format("FastBFSPathfinder: %d searches, %.1f B/search, %.1f MB/s",
+                trackedCalls, getAllocatedBytesPerSearch(), getAllocationRate() / (1024 * 1024));
+    }
+}
@@ -1,8 +1,6 @@
 package entity;
 
-import java.awt.*;
-import java.util.Random;
-import main.GamePanel;
+import main.GameState;
 
 /**
  * Ghost - Enemy AI with PROXIMITY-BASED BFS pathfinding
@@ -13,6 +11,8 @@ import main.GamePanel;
  * 3. PROXIMITY DETECTION - Switches behavior based on distance to Pacman
  * 4. BFS ALGORITHM - Finds shortest path when chasing
  * 5. STATE-BASED BEHAVIOR - Two modes: RANDOM and CHASE
+ * 6. SHARED RULES - The AI itself is GhostRules, run on this object's
+ *    fields; an EntityStore runs the same code on its arrays
  * 
  * AI BEHAVIOR:
  * - RANDOM MODE: When Pacman is far (> 3 tiles away)
@@ -20,7 +20,9 @@ import main.GamePanel;
  *   - Less threatening, gives player breathing room
  * 
  * - CHASE MODE: When Pacman is near (≤ 2 tiles away)
- *   - Uses BFS to find shortest path
+ *   - Uses the level's precomputed next-hop table, or on very large
+ *     mazes the distance-to-Pacman field shared by all ghosts
+ *   - Or a per-ghost Pathfinder (BFS, A*, JPS) chosen by configuration
  *   - Actively hunts player
  *   - Creates tension and challenge
  * 
@@ -38,69 +40,62 @@ public class Ghost extends Entity {
     public int xVelocity = 0;  // Horizontal speed
     public int yVelocity = 0;  // Vertical speed
     
-    // Movement speed (pixels per frame)
-    private int speed = 8;
+    // Movement speed is tileSize / 4 pixels per frame (GhostRules.speed)
     
-    // Array of possible directions for random selection
-    private char[] directions = {'U', 'D', 'L', 'R'};
-    
-    // Random number generator for AI decision-making
-    private Random random = new Random();
+    // Random numbers for AI decisions come from game.random:
+    // seeded once per game, so a recorded game replays exactly
     
     // === BFS PATHFINDING COMPONENTS ===
     
     // PRESENTATION POINT: These enable intelligent ghost behavior
     
-    // The BFS algorithm instance
-    private BFSPathfinder pathfinder;
+    // Ghost name, used to look up its configuration ("blue", "red", ...)
+    public final String name;
+    
+    // The pathfinding algorithm chosen for this ghost (see Pathfinders)
+    // null = shared navigation: the level's next-hop table or distance field
+    // (package-private, like the path state below: EntityStore uses them too)
+    final Pathfinder pathfinder;
     
     // Current path being followed (from BFS)
-    private PathLinkedList currentPath;
+    final PathLinkedList currentPath;
     
     // Counter for when to recalculate path
-    private int pathRecalculateCounter = 0;
-    
-    // Recalculate path every N frames (prevents constant recalculation)
-    private static final int RECALCULATE_INTERVAL = 20;
+    int pathRecalculateCounter = 0;
     
     // === PROXIMITY DETECTION THRESHOLDS ===
     
     // PRESENTATION POINT: These control when ghost switches modes
+    // Chase / stop-chase distances and the path recalculation interval
+    // come from game.ghostTuning (see GhostTuning.DEFAULT)
     
-    // Distance to START chasing (2 tiles = 64 pixels)
-    // When Pacman gets this close, ghost starts BFS
-    private static final int CHASE_DISTANCE = 2 * 32;  // 2 tiles
-    
-    // Distance to STOP chasing (3 tiles = 96 pixels)
-    // When Pacman gets this far, ghost returns to random movement
-    private static final int STOP_CHASE_DISTANCE = 3 * 32;  // 3 tiles
+    // Current AI mode (package-private: EntityStore keeps a copy in its arrays)
+    boolean isChasing = false;
     
-    // Current AI mode
-    private boolean isChasing = false;
+    // The AI rules, run on this ghost's own fields (EntityStore runs the same ones on its arrays)
+    private final GhostRules rules = new OwnFields();
 
     /**
      * Constructor - Create a new ghost with BFS pathfinding
      * 
      * PRESENTATION POINTS:
      * - Calls parent constructor using super()
-     * - Speed calculated as tileSize/4 for smooth grid movement
      * - Initializes BFS pathfinder
      * - Starts in RANDOM mode (not chasing)
      * 
-     * @param gp - Game panel reference
+     * @param game - Game state reference
      * @param x - Starting X position
      * @param y - Starting Y position
      * @param width - Ghost width
      * @param height - Ghost height
-     * @param img - Ghost image (different colors for each ghost)
+     * @param name - Ghost name for configuration lookup
      */
-    public Ghost(GamePanel gp, int x, int y, int width, int height, Image img) {
-        super(gp, x, y, width, height);  // Call parent constructor
-        this.img = img;
-        this.speed = gp.tileSize / 4;  // Speed = 8 pixels (32/4) per frame
+    public Ghost(GameState game, int x, int y, int width, int height, String name) {
+        super(game, x, y, width, height);  // Call parent constructor
+        this.name = name;
         
-        // Initialize BFS pathfinding system
-        this.pathfinder = new BFSPathfinder(gp);
+        // Initialize pathfinding system (strategy picked from configuration)
+        this.pathfinder = Pathfinders.forGhost(name, game);
         this.currentPath = new PathLinkedList();
         this.isChasing = false;  // Start in random mode
         
@@ -116,170 +111,33 @@ public class Ghost extends Entity {
      * 3. BFS PATHFINDING - When chasing, use shortest path
      * 4. COLLISION DETECTION - Handle walls and boundaries
      * 
-     * ALGORITHM FLOW:
-     * Step 1: Calculate distance to Pacman
-     * Step 2: Update AI mode based on distance (chase or random)
-     * Step 3: If chasing, use BFS path; otherwise move randomly
-     * Step 4: Apply velocity to position
-     * Step 5: Handle collisions and boundaries
+     * The rules themselves are in GhostRules, shared with EntityStore.
      */
     public void update() {
-        
-        // === STEP 1: PROXIMITY DETECTION ===
-        // PRESENTATION POINT: Distance calculation using Pythagorean theorem
-        
-        if (gp.pacman != null) {
-            double distanceToPacman = calculateDistance(gp.pacman);
-            
-            // === STEP 2: MODE SWITCHING ===
-            // PRESENTATION POINT: Hysteresis prevents rapid mode switching
-            
-            if (!isChasing && distanceToPacman <= CHASE_DISTANCE) {
-                // Pacman got close! Start chasing
-                isChasing = true;
-                currentPath.clear();  // Clear old path
-                pathRecalculateCounter = RECALCULATE_INTERVAL;  // Force immediate recalculation
-            }
-            else if (isChasing && distanceToPacman > STOP_CHASE_DISTANCE) {
-                // Pacman escaped! Stop chasing
-                isChasing = false;
-                currentPath.clear();  // Clear BFS path
-            }
-        }
-        
-        // === STEP 3: AI DECISION MAKING ===
-        
-        if (isChasing) {
-            // CHASE MODE: Use BFS pathfinding
-            // PRESENTATION POINT: This is where BFS algorithm is used
-            updateChaseMode();
-        }
-        // else: RANDOM MODE uses default random movement (no changes needed)
-        
-        // === STEP 4: APPLY MOVEMENT ===
-        this.x += xVelocity;
-        this.y += yVelocity;
-
-        // === STEP 5: SPECIAL RULES ===
-        // Force downward movement at spawn area
-        if (direction != 'U' && direction != 'D' && y == 32 * 9) {
-            updateDir('D');
-        }
-        
-        // === STEP 6: COLLISION DETECTION ===
-        for (Entity wall : gp.walls) {
-            if (gp.collision(wall, this) || this.x <= 0 || this.x + this.width >= gp.WIDTH) {
-                // Backtrack on collision
-                this.x -= xVelocity;
-                this.y -= yVelocity;
-                
-                if (isChasing) {
-                    // Path blocked! Recalculate immediately
-                    currentPath.clear();
-                    pathRecalculateCounter = RECALCULATE_INTERVAL;
-                } else {
-                    // Random mode: just pick new direction
-                    randomDir();
-                }
-                break;
-            }
-        }
+        decide();
+        move();
     }
-    
-    /**
-     * Update ghost behavior when in CHASE mode (using BFS)
-     * 
-     * PRESENTATION POINTS:
-     * 1. PERIODIC RECALCULATION - Don't recalculate every frame (expensive)
-     * 2. PATH FOLLOWING - Use directions from BFS result
-     * 3. GRID ALIGNMENT - Only change direction at grid intersections
-     * 
-     * ALGORITHM FLOW:
-     * Step 1: Check if need to recalculate path (timer or empty path)
-     * Step 2: If yes, run BFS to find new path
-     * Step 3: Follow current path one step at a time
-     * Step 4: Change direction only when aligned to grid
-     */
-    private void updateChaseMode() {
-        pathRecalculateCounter++;
-        
-        // STEP 1: Decide when to recalculate path
-        // PRESENTATION POINT: Trade-off between accuracy and performance
-        
-        if (pathRecalculateCounter >= RECALCULATE_INTERVAL || currentPath.isEmpty()) {
-            
-            // STEP 2: Run BFS algorithm
-            // PRESENTATION POINT: This is the BFS function call
-            
-            if (gp.pacman != null) {
-                PathLinkedList newPath = pathfinder.findPath(
-                    this.x, this.y,           // Ghost position (start)
-                    gp.pacman.x, gp.pacman.y  // Pacman position (target)
-                );
-                
-                if (newPath != null && !newPath.isEmpty()) {
-                    currentPath = newPath;
-                } else {
-                    // No path found (Pacman unreachable)
-                    // Fall back to random movement
-                    isChasing = false;
-                }
-            }
-            
-            pathRecalculateCounter = 0;  // Reset counter
-        }
-        
-        // STEP 3: Follow the path
-        // PRESENTATION POINT: Path is a sequence of directions
-        
-        if (!currentPath.isEmpty()) {
-            char nextDir = currentPath.peek();  // Look at next direction
-            
-            // STEP 4: Change direction only when aligned to grid
-            // PRESENTATION POINT: Prevents jagged movement
-            
-            if (isAlignedToGrid()) {
-                currentPath.removeFirst();  // Remove current waypoint
-                if (!currentPath.isEmpty()) {
-                    nextDir = currentPath.peek();
-                    updateDir(nextDir);
-                }
-            }
-        }
-    }
-    
+
     /**
-     * Calculate Euclidean distance to Pacman
+     * First half of update(): choose the mode and direction
      * 
      * PRESENTATION POINT:
-     * - PYTHAGOREAN THEOREM: distance = √(dx² + dy²)
-     * - Used for proximity detection
-     * - Returns distance in pixels
-     * 
-     * FORMULA:
-     * distance = √[(x₂ - x₁)² + (y₂ - y₁)²]
-     * 
-     * @param pacman - Pacman entity
-     * @return Distance in pixels
+     * - Writes only this ghost's own fields (and its own pathfinder),
+     *   so all ghosts can decide in parallel (see GhostRules.decide)
      */
-    private double calculateDistance(Pacman pacman) {
-        int dx = pacman.x - this.x;  // Horizontal distance
-        int dy = pacman.y - this.y;  // Vertical distance
-        return Math.sqrt(dx * dx + dy * dy);  // Pythagorean theorem
+    public void decide() {
+        rules.decide(0);
     }
-    
+
     /**
-     * Check if ghost is aligned to grid
+     * Second half of update(): move and resolve wall collisions
      * 
      * PRESENTATION POINT:
-     * - Grid alignment means position is exactly on tile boundary
-     * - Ensures smooth turns at intersections
-     * - Both X and Y must be multiples of tileSize
-     * 
-     * @return true if at exact grid position
+     * - May call randomDir(), so ghosts must move one after another
+     *   in list order to use game.random in the same order every run
      */
-    private boolean isAlignedToGrid() {
-        return (this.x % gp.tileSize == 0) && (this.y % gp.tileSize == 0);
+    public void move() {
+        rules.move(0);
     }
 
     /**
@@ -287,42 +145,23 @@ public class Ghost extends Entity {
      * 
      * PRESENTATION POINTS:
      * 1. RANDOM ALGORITHM - random.nextInt(4) generates 0-3
-     * 2. ARRAY INDEXING - Use random number to pick from array
+     * 2. ARRAY INDEXING - Use random number to pick from {'U', 'D', 'L', 'R'}
      * 3. Creates unpredictable ghost behavior
-     * 
-     * DATA STRUCTURE: Array {'U', 'D', 'L', 'R'}
-     * - Index 0 = 'U' (Up)
-     * - Index 1 = 'D' (Down)
-     * - Index 2 = 'L' (Left)
-     * - Index 3 = 'R' (Right)
      */
     public void randomDir() {
-        char newDir = directions[random.nextInt(4)];  // Random index: 0, 1, 2, or 3
-        updateDir(newDir);  // Apply the new direction
+        rules.randomDirection(0);
     }
 
     /**
      * Update ghost's direction and velocity
      * 
-     * PRESENTATION POINTS:
-     * 1. SWITCH STATEMENT - Clean way to handle multiple cases
-     * 2. VECTOR MATHEMATICS - Velocity as (x, y) components
-     * 3. Direction mapping:
-     *    - Up: (0, -speed) - negative Y moves upward
-     *    - Down: (0, +speed) - positive Y moves downward
-     *    - Left: (-speed, 0) - negative X moves left
-     *    - Right: (+speed, 0) - positive X moves right
+     * PRESENTATION POINT:
+     * - VECTOR MATHEMATICS - Velocity as (x, y) components, see GhostRules.setDirection
      * 
      * @param newDir - The new direction character
      */
     public void updateDir(char newDir) {
-        this.direction = newDir;
-        switch (direction) {
-            case 'U': xVelocity = 0; yVelocity = -speed; break;  // Move up
-            case 'D': xVelocity = 0; yVelocity = speed; break;   // Move down
-            case 'L': xVelocity = -speed; yVelocity = 0; break;  // Move left
-            case 'R': xVelocity = speed; yVelocity = 0; break;   // Move right
-        }
+        rules.setDirection(0, newDir);
     }
 
     /**
@@ -337,9 +176,37 @@ public class Ghost extends Entity {
     @Override
     public void reset() {
         super.reset();           // Reset position (from Entity class)
-        this.isChasing = false;  // Return to random mode
-        this.currentPath.clear(); // Clear any BFS path
-        this.pathRecalculateCounter = 0;  // Reset counter
-        randomDir();             // Choose new random direction
+        rules.resetMode(0);      // Random mode, no path, new random direction
+    }
+
+    /**
+     * The ghost's own fields as GhostRules slot 0
+     */
+    private final class OwnFields extends GhostRules {
+
+        OwnFields() {
+            super(Ghost.this.game);
+        }
+
+        @Override int x(int i) { return x; }
+        @Override int y(int i) { return y; }
+        @Override void setPosition(int i, int newX, int newY) { x = newX; y = newY; }
+        @Override char direction(int i) { return direction; }
+        @Override int xVelocity(int i) { return xVelocity; }
+        @Override int yVelocity(int i) { return yVelocity; }
+
+        @Override
+        void setMotion(int i, char newDir, int newXVelocity, int newYVelocity) {
+            direction = newDir;
+            xVelocity = newXVelocity;
+            yVelocity = newYVelocity;
+        }
+
+        @Override boolean isChasing(int i) { return isChasing; }
+        @Override void setChasing(int i, boolean chasing) { isChasing = chasing; }
+        @Override int recalculateCounter(int i) { return pathRecalculateCounter; }
+        @Override void setRecalculateCounter(int i, int counter) { pathRecalculateCounter = counter; }
+        @Override PathLinkedList path(int i) { return currentPath; }
+        @Override Pathfinder pathfinder(int i) { return pathfinder; }
     }
 }
@@ -0,0 +1,100 @@
+package entity;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GhostGrid - Ghosts bucketed by map area, to find the ones in a rectangle
+ *
+ * PRESENTATION POINTS:
+ * 1. SPATIAL HASHING - The map is cut into CELL_TILES x CELL_TILES tile
+ *    buckets; a ghost goes into the bucket of its top-left corner
+ * 2. LINKED LISTS IN ARRAYS - head[bucket] is the first ghost index,
+ *    next[ghost] the following one (-1 ends a list): building is one pass
+ *    over the ghosts, with no objects per bucket
+ * 3. QUERY COST - Only the buckets a rectangle touches are visited, so
+ *    finding the ghosts in the window does not depend on the ghost count
+ *
+ * Ghosts in one bucket come out in list order.
+ */
+public class GhostGrid {
+
+    // Bucket side in tiles
+    public static final int CELL_TILES = 4;
+
+    private final int tileSize;
+    private final int cellRows;
+    private final int cellCols;
+
+    // First ghost index of every bucket, -1 when empty
+    private final int[] head;
+
+    // Next ghost index in the same bucket, -1 at the end
+    private int[] next = new int[0];
+
+    /**
+     * Constructor - Create an empty grid for a map
+     *
+     * @param rowCount - Number of tile rows
+     * @param columnCount - Number of tile columns
+     * @param tileSize - Size of one tile in pixels
+     */
+    public GhostGrid(int rowCount, int columnCount, int tileSize) {
+        this.tileSize = tileSize;
+        this.cellRows = (rowCount + CELL_TILES - 1) / CELL_TILES;
+        this.cellCols = (columnCount + CELL_TILES - 1) / CELL_TILES;
+        this.head = new int[cellRows * cellCols];
+        Arrays.fill(head, -1);
+    }
+
+    /**
+     * Put every ghost into its bucket (replaces the previous contents)
+     *
+     * @param ghosts - Ghosts at their current positions; indices refer to this list
+     */
+    public void build(List<Ghost> ghosts) {
+        Arrays.fill(head, -1);
+        if (next.length < ghosts.size()) {
+            next = new int[ghosts.size()];
+        }
+        // Backwards, so every list ends up in increasing index order
+        for (int i = ghosts.size() - 1; i >= 0; i--) {
+            Ghost ghost = ghosts.get(i);
+            int bucket = cellRow(ghost.y) * cellCols + cellCol(ghost.x);
+            next[i] = head[bucket];
+            head[bucket] = i;
+        }
+    }
+
+    /**
+     * First ghost of a bucket
+     *
+     * @return ghost index, or -1 if the bucket is empty
+     */
+    public int first(int cellRow, int cellCol) {
+        return head[cellRow * cellCols + cellCol];
+    }
+
+    /**
+     * Ghost after the given one in the same bucket
+     *
+     * @return ghost index, or -1 at the end of the bucket
+     */
+    public int next(int ghost) {
+        return next[ghost];
+    }
+
+    /**
+     * Bucket row of a pixel Y (clamped to the grid, so off-map ghosts still land somewhere)
+     */
+    public int cellRow(int y) {
+        return Math.max(0, Math.min(cellRows - 1, Math.floorDiv(y, tileSize * CELL_TILES)));
+    }
+
+    /**
+     * Bucket column of a pixel X (clamped to the grid)
+     */
+    public int cellCol(int x) {
+        return Math.max(0, Math.min(cellCols - 1, Math.floorDiv(x, tileSize * CELL_TILES)));
+    }
+}
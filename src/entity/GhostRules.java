@@ -0,0 +1,311 @@
+package entity;
+
+import main.GameState;
+
+/**
+ * GhostRules - The ghost AI, written once for every way of storing ghosts
+ *
+ * PRESENTATION POINTS:
+ * 1. TEMPLATE METHOD - decide(), move() and resetMode() are the rules;
+ *    subclasses only say where slot i's fields live:
+ *    - Ghost: one slot, the object's own fields
+ *    - EntityStore: one slot per ghost, in parallel arrays
+ * 2. SAME GAME EITHER WAY - both layouts run this exact code, with the
+ *    same random numbers in the same order
+ * 3. STATE-BASED BEHAVIOR - Two modes: RANDOM and CHASE
+ *    - RANDOM MODE: keep going until a wall, then pick a random direction
+ *    - CHASE MODE: follow the level's next-hop table, the shared
+ *      distance-to-Pacman field, or a per-ghost Pathfinder
+ * 4. HYSTERESIS - start chasing within tuning.chaseDistance, stop only
+ *    beyond tuning.stopChaseDistance
+ */
+public abstract class GhostRules {
+
+    // Array of possible directions for random selection
+    private static final char[] DIRECTIONS = {'U', 'D', 'L', 'R'};
+
+    final GameState game;
+    final GhostTuning tuning;
+
+    // All ghosts are tileSize squares moving tileSize / 4 pixels per tick
+    final int size;
+    final int speed;
+
+    // The level's walls, width and ghost-down row (pixels, -1 = none),
+    // read once: ghosts and stores are created anew for every level
+    private final WallGrid walls;
+    private final int mapWidth;
+    private final int downRowY;
+
+    /**
+     * Constructor - Rules for the ghosts of one game
+     *
+     * @param game - Game state (walls, Pacman, tuning, random numbers)
+     */
+    GhostRules(GameState game) {
+        this.game = game;
+        this.tuning = game.ghostTuning;
+        this.size = GameState.tileSize;
+        this.speed = GameState.tileSize / 4;
+        this.walls = game.wallGrid;
+        this.mapWidth = game.getWidth();
+        this.downRowY = (game.level.ghostDownRow >= 0) ? game.level.ghostDownRow * GameState.tileSize : -1;
+    }
+
+    // === SLOT ACCESS (what a layout provides) ===
+
+    abstract int x(int i);
+
+    abstract int y(int i);
+
+    abstract void setPosition(int i, int x, int y);
+
+    abstract char direction(int i);
+
+    abstract int xVelocity(int i);
+
+    abstract int yVelocity(int i);
+
+    abstract void setMotion(int i, char direction, int xVelocity, int yVelocity);
+
+    abstract boolean isChasing(int i);
+
+    abstract void setChasing(int i, boolean chasing);
+
+    abstract int recalculateCounter(int i);
+
+    abstract void setRecalculateCounter(int i, int counter);
+
+    abstract PathLinkedList path(int i);
+
+    // null = shared navigation: the level's next-hop table or distance field
+    abstract Pathfinder pathfinder(int i);
+
+    // === THE RULES ===
+
+    /**
+     * First half of a ghost's tick: choose the mode and direction
+     *
+     * PRESENTATION POINTS:
+     * - Reads the walls and Pacman's position, writes only slot i (and its
+     *   own path and pathfinder), never game.random
+     * - So all ghosts can decide at the same time on different cores
+     *   (see GameState.step) and still get the sequential result
+     * - With distance-field chasing, game.getPacmanField() must already be
+     *   up to date, the parallel caller refreshes it once beforehand
+     *
+     * ALGORITHM FLOW:
+     * Step 1: Squared distance to Pacman (no square root needed to compare)
+     * Step 2: Update AI mode based on distance (chase or random)
+     * Step 3: If chasing, pick the direction toward Pacman
+     *
+     * @param i - Ghost slot
+     */
+    public final void decide(int i) {
+        Pacman pacman = game.pacman;
+
+        // === STEP 1: PROXIMITY DETECTION ===
+        if (pacman != null) {
+            long dx = pacman.x - x(i);  // long: dx * dx overflows int on big maps
+            long dy = pacman.y - y(i);
+            long distance2 = dx * dx + dy * dy;
+
+            // === STEP 2: MODE SWITCHING ===
+            if (!isChasing(i) && distance2 <= (long) tuning.chaseDistance * tuning.chaseDistance) {
+                // Pacman got close! Start chasing with a fresh path
+                setChasing(i, true);
+                replan(i);
+            } else if (isChasing(i) && distance2 > (long) tuning.stopChaseDistance * tuning.stopChaseDistance) {
+                // Pacman escaped! Stop chasing
+                setChasing(i, false);
+                path(i).clear();
+            }
+        }
+
+        // === STEP 3: AI DECISION MAKING ===
+        if (isChasing(i)) {
+            chase(i, pacman);
+        }
+        // else: RANDOM MODE keeps its direction until it hits a wall
+    }
+
+    /**
+     * Second half of a ghost's tick: move and resolve wall collisions
+     *
+     * PRESENTATION POINT:
+     * - May use game.random, so ghosts must move one after another
+     *   in slot order to use it in the same order every run
+     *
+     * @param i - Ghost slot
+     */
+    public final void move(int i) {
+        // === STEP 4: APPLY MOVEMENT ===
+        int newX = x(i) + xVelocity(i);
+        int newY = y(i) + yVelocity(i);
+        setPosition(i, newX, newY);
+
+        // === STEP 5: SPECIAL RULES ===
+        // Force downward movement at spawn area (the level's ghost-down row)
+        char dir = direction(i);
+        if (downRowY >= 0 && dir != 'U' && dir != 'D' && newY == downRowY) {
+            setDirection(i, 'D');
+        }
+
+        // === STEP 6: COLLISION DETECTION ===
+        // PRESENTATION POINT: O(1) lookup in the wall grid instead of scanning every wall
+        if (newX <= 0 || newX + size >= mapWidth || walls.overlapsWall(newX, newY, size, size)) {
+            // Backtrack on collision
+            setPosition(i, newX - xVelocity(i), newY - yVelocity(i));
+
+            if (isChasing(i)) {
+                // Path blocked! Recalculate immediately
+                replan(i);
+            } else {
+                // Random mode: just pick new direction
+                randomDirection(i);
+            }
+        }
+    }
+
+    /**
+     * Back to RANDOM mode with no path and a random direction (position is the layout's job)
+     *
+     * @param i - Ghost slot
+     */
+    public final void resetMode(int i) {
+        setChasing(i, false);
+        path(i).clear();
+        setRecalculateCounter(i, 0);
+        randomDirection(i);
+    }
+
+    /**
+     * Choose a random direction: game.random.nextInt(4) indexes {'U', 'D', 'L', 'R'}
+     *
+     * @param i - Ghost slot
+     */
+    public final void randomDirection(int i) {
+        setDirection(i, DIRECTIONS[game.random.nextInt(4)]);
+    }
+
+    /**
+     * Update a ghost's direction and velocity
+     *
+     * PRESENTATION POINT:
+     * - Velocity as (x, y) components: Up (0, -speed), Down (0, +speed),
+     *   Left (-speed, 0), Right (+speed, 0)
+     *
+     * @param i - Ghost slot
+     * @param newDir - The new direction character
+     */
+    public final void setDirection(int i, char newDir) {
+        switch (newDir) {
+            case 'U': setMotion(i, newDir, 0, -speed); break;
+            case 'D': setMotion(i, newDir, 0, speed); break;
+            case 'L': setMotion(i, newDir, -speed, 0); break;
+            case 'R': setMotion(i, newDir, speed, 0); break;
+            default: setMotion(i, newDir, xVelocity(i), yVelocity(i)); break;
+        }
+    }
+
+    /**
+     * Drop the current path and search again on the next decision
+     */
+    final void replan(int i) {
+        path(i).clear();
+        setRecalculateCounter(i, tuning.recalculateInterval);
+    }
+
+    /**
+     * CHASE mode: shared navigation, or the ghost's own pathfinder
+     *
+     * PRESENTATION POINTS:
+     * 1. PERIODIC RECALCULATION - Don't search every frame (expensive)
+     * 2. PATH FOLLOWING - Use directions from the search result
+     * 3. GRID ALIGNMENT - Only change direction at grid intersections
+     */
+    private void chase(int i, Pacman pacman) {
+        if (pathfinder(i) == null) {
+            // Small mazes have a precomputed next-hop table: no search at all
+            if (game.nextHopTable != null) {
+                chaseWithTable(i, pacman);
+            } else {
+                // Larger mazes share one distance-to-Pacman field between all ghosts
+                chaseWithField(i, game.getPacmanField());
+            }
+            return;
+        }
+
+        PathLinkedList path = path(i);
+        int counter = recalculateCounter(i) + 1;
+        setRecalculateCounter(i, counter);
+
+        // STEP 1: Decide when to recalculate path
+        if (counter >= tuning.recalculateInterval || path.isEmpty()) {
+            // STEP 2: Run the configured pathfinding algorithm (refills the path in place)
+            if (pacman != null) {
+                boolean found = pathfinder(i).findPath(x(i), y(i), pacman.x, pacman.y, path);
+                if (!found || path.isEmpty()) {
+                    // No path found (Pacman unreachable): fall back to random movement
+                    setChasing(i, false);
+                }
+            }
+            setRecalculateCounter(i, 0);
+        }
+
+        // STEP 3: Follow the path, turning only when aligned to the grid
+        if (!path.isEmpty() && isAlignedToGrid(i)) {
+            path.removeFirst();  // Remove current waypoint
+            if (!path.isEmpty()) {
+                setDirection(i, path.peek());
+            }
+        }
+    }
+
+    /**
+     * Chase using the level's precomputed next-hop table
+     *
+     * PRESENTATION POINTS:
+     * 1. O(1) DECISION - One array read instead of a search
+     * 2. ALWAYS FRESH - Route is re-read at every grid step, so it follows
+     *    Pacman immediately instead of every tuning.recalculateInterval frames
+     */
+    private void chaseWithTable(int i, Pacman pacman) {
+        if (pacman == null || !isAlignedToGrid(i)) {
+            return;  // Only turn at grid intersections
+        }
+        int tileSize = GameState.tileSize;
+        steer(i, game.nextHopTable.nextHop(
+            y(i) / tileSize, x(i) / tileSize,              // Ghost cell
+            pacman.y / tileSize, pacman.x / tileSize       // Pacman cell
+        ));
+    }
+
+    /**
+     * Chase by descending the shared distance-to-Pacman field
+     *
+     * PRESENTATION POINTS:
+     * 1. SHARED WORK - The field is computed once for all ghosts
+     * 2. GRADIENT DESCENT - Step to the neighbor with the smallest distance
+     */
+    private void chaseWithField(int i, DistanceField field) {
+        if (!isAlignedToGrid(i)) {
+            return;  // Only turn at grid intersections
+        }
+        steer(i, field.descend(y(i) / GameState.tileSize, x(i) / GameState.tileSize));
+    }
+
+    // '\0' (same cell or unreachable) ends the chase: fall back to random movement
+    private void steer(int i, char nextDir) {
+        if (nextDir == '\0') {
+            setChasing(i, false);
+        } else {
+            setDirection(i, nextDir);
+        }
+    }
+
+    // Both X and Y on a tile boundary: the only place a ghost may turn
+    private boolean isAlignedToGrid(int i) {
+        return x(i) % GameState.tileSize == 0 && y(i) % GameState.tileSize == 0;
+    }
+}
@@ -0,0 +1,46 @@
+package entity;
+
+import main.GameState;
+
+/**
+ * GhostTuning - The numbers that decide how hard the ghosts are
+ *
+ * PRESENTATION POINTS:
+ * 1. IMMUTABLE VALUE OBJECT - Shared safely by every ghost of a game,
+ *    and by games running in parallel (balance tests)
+ * 2. HYSTERESIS - stopChaseDistance > chaseDistance, so a ghost does not
+ *    flip between modes when Pacman hovers at the edge
+ *
+ * Each game has its own tuning (GameState.ghostTuning); the window game
+ * always plays DEFAULT, SelfPlay tries others.
+ */
+public final class GhostTuning {
+
+    // 2 tiles to start chasing, 3 tiles to give up, new path every 20 frames
+    public static final GhostTuning DEFAULT = new GhostTuning(2 * GameState.tileSize, 3 * GameState.tileSize, 20);
+
+    // Distance to START chasing (pixels): when Pacman gets this close, ghost starts pathfinding
+    public final int chaseDistance;
+
+    // Distance to STOP chasing (pixels): when Pacman gets this far, ghost returns to random movement
+    public final int stopChaseDistance;
+
+    // Recalculate the path every N frames (only ghosts with their own pathfinder,
+    // the shared next-hop table / distance field is always up to date)
+    public final int recalculateInterval;
+
+    public GhostTuning(int chaseDistance, int stopChaseDistance, int recalculateInterval) {
+        if (chaseDistance < 0 || stopChaseDistance < chaseDistance || recalculateInterval < 1) {
+            throw new IllegalArgumentException("Bad ghost tuning: chase " + chaseDistance
+                    + ", stop " + stopChaseDistance + ", recalculate " + recalculateInterval);
+        }
+        this.chaseDistance = chaseDistance;
+        this.stopChaseDistance = stopChaseDistance;
+        this.recalculateInterval = recalculateInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "chase " + chaseDistance + " stop " + stopChaseDistance + " recalc " + recalculateInterval;
+    }
+}
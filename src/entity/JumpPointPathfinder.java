@@ -0,0 +1,118 @@
+package entity;
+
+import main.GameState;
+
+/**
+ * JumpPointPathfinder - Jump Point Search (JPS) on a 4-connected grid
+ *
+ * PRESENTATION POINTS:
+ *
+ * 1. IDEA - Don't put every cell of a straight corridor in the open list
+ *    - From a node, keep walking in one direction ("jump")
+ *    - Stop only at cells where a new shortest path could branch off
+ *      ("jump points") or at the target
+ *    - Only jump points are pushed to the heap
+ *
+ * 2. PRUNING RULES (4-connected variant)
+ *    - Moving horizontally: a cell is a jump point if a vertical neighbor
+ *      is open while the cell behind it on that side was a wall
+ *      (a "forced neighbor")
+ *    - Moving vertically: same test sideways, plus a cell is a jump point
+ *      if a horizontal jump from it finds one
+ *    - Successors of a node: keep going straight, or turn 90 degrees
+ *
+ * 3. STILL A*
+ *    - Same Manhattan heuristic and heap as AStarPathfinder (inherited)
+ *    - Edge cost = number of cells jumped over
+ *    - Returns a shortest path
+ *
+ * BEST FOR: open areas and long corridors (large generated mazes)
+ */
+public class JumpPointPathfinder extends AStarPathfinder {
+
+    public JumpPointPathfinder(GameState game) {
+        super(game);
+    }
+
+    /**
+     * Push the jump points reachable from a node
+     *
+     * PRESENTATION POINT:
+     * - Start node: jump in all 4 directions
+     * - Other nodes: go on in the direction we arrived from, or turn
+     *
+     * @param current - Jump point being expanded
+     */
+    @Override
+    protected void expand(int current) {
+        int from = parent[current];
+        if (from == -1) {
+            jumpFrom(current, -1, 0);
+            jumpFrom(current, 1, 0);
+            jumpFrom(current, 0, -1);
+            jumpFrom(current, 0, 1);
+            return;
+        }
+
+        int dRow = Integer.signum(current / cols - from / cols);
+        int dCol = Integer.signum(current % cols - from % cols);
+        if (dCol != 0) {
+            // Arrived horizontally: turn up/down or continue
+            jumpFrom(current, -1, 0);
+            jumpFrom(current, 1, 0);
+            jumpFrom(current, 0, dCol);
+        } else {
+            // Arrived vertically: turn left/right or continue
+            jumpFrom(current, 0, -1);
+            jumpFrom(current, 0, 1);
+            jumpFrom(current, dRow, 0);
+        }
+    }
+
+    private void jumpFrom(int current, int dRow, int dCol) {
+        int jumpPoint = jump(current / cols + dRow, current % cols + dCol, dRow, dCol);
+        if (jumpPoint >= 0) {
+            int distance = Math.abs(jumpPoint / cols - current / cols) + Math.abs(jumpPoint % cols - current % cols);
+            relax(current, jumpPoint, distance);
+        }
+    }
+
+    /**
+     * Walk in a straight line until a jump point, the target or a wall
+     *
+     * @param row - First cell of the walk
+     * @param col - First cell of the walk
+     * @param dRow - Row step (-1, 0 or 1)
+     * @param dCol - Column step (-1, 0 or 1)
+     * @return cell index of the jump point, or -1 if the walk hits a wall
+     */
+    private int jump(int row, int col, int dRow, int dCol) {
+        while (isOpen(row, col)) {
+            if (row == targetRow && col == targetCol) {
+                return row * cols + col;
+            }
+
+            if (dCol != 0) {
+                // Horizontal: forced neighbor above or below?
+                if ((isOpen(row - 1, col) && !isOpen(row - 1, col - dCol)) ||
+                    (isOpen(row + 1, col) && !isOpen(row + 1, col - dCol))) {
+                    return row * cols + col;
+                }
+            } else {
+                // Vertical: forced neighbor left or right?
+                if ((isOpen(row, col - 1) && !isOpen(row - dRow, col - 1)) ||
+                    (isOpen(row, col + 1) && !isOpen(row - dRow, col + 1))) {
+                    return row * cols + col;
+                }
+                // A horizontal branch from here leads somewhere interesting
+                if (jump(row, col + 1, 0, 1) >= 0 || jump(row, col - 1, 0, -1) >= 0) {
+                    return row * cols + col;
+                }
+            }
+
+            row += dRow;
+            col += dCol;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,96 @@
+package entity;
+
+import java.util.Arrays;
+
+/**
+ * LongMinHeap - Binary min-heap of primitive longs
+ *
+ * PRESENTATION POINTS:
+ * 1. BINARY HEAP - Complete binary tree stored in an array
+ *    - Parent of i is (i - 1) / 2, children are 2i + 1 and 2i + 2
+ * 2. O(log n) push and pop, O(1) peek
+ * 3. NO BOXING - Stores raw longs, so no Long objects are created
+ *
+ * USE CASE:
+ * - Open list (priority queue) for A* and jump point search
+ * - Callers pack (priority, cell) into one long: priority << 32 | cell
+ * - Duplicates are allowed; callers skip stale entries when popping
+ *   ("lazy deletion" instead of decrease-key)
+ */
+public class LongMinHeap {
+
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap(int initialCapacity) {
+        this.heap = new long[Math.max(16, initialCapacity)];
+        this.size = 0;
+    }
+
+    /**
+     * Pack a non-negative priority and a cell index into one heap entry
+     */
+    public static long pack(int priority, int cell) {
+        return ((long) priority << 32) | (cell & 0xFFFFFFFFL);
+    }
+
+    public static int priority(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    public static int cell(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Add an entry - sift up from the last slot
+     */
+    public void push(long value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    /**
+     * Remove and return the smallest entry - move last entry to root and sift down
+     */
+    public long pop() {
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    public long peek() {
+        return heap[0];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,214 @@
+package entity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * NextHopTable - Precomputed all-pairs "first step" table for ghost chasing
+ *
+ * PRESENTATION POINTS:
+ *
+ * 1. PRECOMPUTATION - Trade memory for speed
+ *    - The maze never changes during a level
+ *    - So the answer to "which way from A to reach B?" never changes either
+ *    - Compute every answer once when the level loads
+ *
+ * 2. ALL-PAIRS BFS
+ *    - One BFS from every walkable cell (V searches of O(V) each = O(V²))
+ *    - Each BFS remembers the FIRST direction taken from its source
+ *
+ * 3. PARALLELISM - Fork/Join common pool
+ *    - The V searches are independent (each writes only its own table row)
+ *    - IntStream.parallel() spreads them across all CPU cores
+ *
+ * 4. O(1) QUERY - Ghost chasing becomes a single array read
+ *
+ * MEMORY:
+ * - One byte per (source, target) pair of walkable cells
+ * - Only built when the maze has at most MAX_NODES walkable cells
+ */
+public class NextHopTable {
+
+    // Largest maze (in walkable cells) we build a table for: 4096² bytes = 16 MB
+    public static final int MAX_NODES = 4096;
+
+    // Direction codes stored in the table (0 = no move)
+    private static final char[] DIRECTIONS = {'\0', 'U', 'D', 'L', 'R'};
+
+    private final int rowCount;
+    private final int columnCount;
+
+    // Grid cell index → compact node index (-1 for walls)
+    private final int[] cellToNode;
+
+    // Number of walkable cells
+    private final int nodeCount;
+
+    // hops[source * nodeCount + target] = direction code of the first step
+    private final byte[] hops;
+
+    private NextHopTable(int rowCount, int columnCount, int[] cellToNode, int nodeCount) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.cellToNode = cellToNode;
+        this.nodeCount = nodeCount;
+        this.hops = new byte[nodeCount * nodeCount];
+    }
+
+    /**
+     * Rebuild a saved table without searching (level files store it)
+     *
+     * PRESENTATION POINT:
+     * - The node numbering follows from the walls, so only the hop
+     *   bytes are stored; loading them is one bulk copy
+     *
+     * @param grid - The level's wall grid
+     * @param savedHops - Buffer positioned at the bytes written by writeHops()
+     * @return the table (the buffer is advanced past it)
+     * @throws IOException if the saved bytes cannot be a table for these walls
+     */
+    public static NextHopTable read(WallGrid grid, ByteBuffer savedHops) throws IOException {
+        int rows = grid.getRowCount();
+        int cols = grid.getColumnCount();
+        int[] cellToNode = new int[rows * cols];
+        int nodeCount = numberCells(grid, cellToNode);
+
+        // Checked before allocating nodeCount² bytes (long: no int overflow)
+        if (nodeCount > MAX_NODES || (long) nodeCount * nodeCount > savedHops.remaining()) {
+            throw new IOException("No room for a next-hop table of " + nodeCount + " cells");
+        }
+        NextHopTable table = new NextHopTable(rows, cols, cellToNode, nodeCount);
+        savedHops.get(table.hops);
+        for (byte hop : table.hops) {
+            if (hop < 0 || hop >= DIRECTIONS.length) {
+                throw new IOException("Bad next-hop code " + hop);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Save the hop bytes (nodeCount² of them)
+     *
+     * @param out - Buffer to write into
+     */
+    public void writeHops(ByteBuffer out) {
+        out.put(hops);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Build the table for a level
+     *
+     * ALGORITHM STEPS:
+     * Step 1: Number the walkable cells 0..V-1
+     * Step 2: Build adjacency (Up, Down, Left, Right - same order as BFSPathfinder)
+     * Step 3: Run one BFS per walkable cell in parallel
+     *
+     * @param grid - The level's wall grid
+     * @return the table, or null if the maze is too large to precompute
+     */
+    public static NextHopTable build(WallGrid grid) {
+        int rows = grid.getRowCount();
+        int cols = grid.getColumnCount();
+
+        // === STEP 1: Compact numbering of walkable cells ===
+        int[] cellToNode = new int[rows * cols];
+        int nodeCount = numberCells(grid, cellToNode);
+        if (nodeCount > MAX_NODES) {
+            return null;
+        }
+
+        // === STEP 2: Adjacency list, 4 slots per node (-1 = blocked) ===
+        int[] neighbors = new int[nodeCount * 4];
+        Arrays.fill(neighbors, -1);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int node = cellToNode[row * cols + col];
+                if (node < 0) continue;
+                if (row > 0)        neighbors[node * 4]     = cellToNode[(row - 1) * cols + col];
+                if (row < rows - 1) neighbors[node * 4 + 1] = cellToNode[(row + 1) * cols + col];
+                if (col > 0)        neighbors[node * 4 + 2] = cellToNode[row * cols + col - 1];
+                if (col < cols - 1) neighbors[node * 4 + 3] = cellToNode[row * cols + col + 1];
+            }
+        }
+
+        // === STEP 3: One BFS per source, spread over the common fork-join pool ===
+        NextHopTable table = new NextHopTable(rows, cols, cellToNode, nodeCount);
+        IntStream.range(0, nodeCount).parallel().forEach(source -> table.fillRow(source, neighbors));
+        return table;
+    }
+
+    // Row-major numbering of walkable cells (walls get -1); returns the count
+    private static int numberCells(WallGrid grid, int[] cellToNode) {
+        int cols = grid.getColumnCount();
+        int nodeCount = 0;
+        for (int row = 0; row < grid.getRowCount(); row++) {
+            for (int col = 0; col < cols; col++) {
+                cellToNode[row * cols + col] = grid.isWall(row, col) ? -1 : nodeCount++;
+            }
+        }
+        return nodeCount;
+    }
+
+    /**
+     * BFS from one source, recording the first direction used to reach each target
+     *
+     * PRESENTATION POINT:
+     * - Neighbors of the source get the direction we stepped in
+     * - Every other node inherits the first direction of the node that discovered it
+     */
+    private void fillRow(int source, int[] neighbors) {
+        int[] queue = new int[nodeCount];
+        byte[] firstDir = new byte[nodeCount];
+        boolean[] visited = new boolean[nodeCount];
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        visited[source] = true;
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int d = 0; d < 4; d++) {
+                int next = neighbors[current * 4 + d];
+                if (next < 0 || visited[next]) continue;
+                visited[next] = true;
+                firstDir[next] = (current == source) ? (byte) (d + 1) : firstDir[current];
+                queue[tail++] = next;
+            }
+        }
+
+        System.arraycopy(firstDir, 0, hops, source * nodeCount, nodeCount);
+    }
+
+    /**
+     * Look up the first step from one cell toward another
+     *
+     * @param fromRow - Ghost's grid row
+     * @param fromCol - Ghost's grid column
+     * @param toRow - Target's grid row
+     * @param toCol - Target's grid column
+     * @return 'U', 'D', 'L' or 'R', or '\0' if same cell, wall, off-grid or unreachable
+     */
+    public char nextHop(int fromRow, int fromCol, int toRow, int toCol) {
+        int from = node(fromRow, fromCol);
+        int to = node(toRow, toCol);
+        if (from < 0 || to < 0) {
+            return '\0';
+        }
+        return DIRECTIONS[hops[from * nodeCount + to]];
+    }
+
+    private int node(int row, int col) {
+        if (row < 0 || row >= rowCount || col < 0 || col >= columnCount) {
+            return -1;
+        }
+        return cellToNode[row * columnCount + col];
+    }
+}
@@ -1,7 +1,7 @@
 package entity;
 
 import java.awt.*;
-import main.GamePanel;
+import main.GameState;
 
 /**
  * Pacman - Player-controlled character
@@ -39,30 +39,41 @@ public class Pacman extends Entity {
      * Constructor - Create Pacman
      * 
      * PRESENTATION POINT:
-     * - Loads all 4 directional images from GamePanel
+     * - No images yet: the view hands them over with setSprites()
      * - Starts facing right (classic Pacman)
      * - Speed calculated for smooth grid movement
      * 
-     * @param gp - Game panel reference
+     * @param game - Game state reference
      * @param x - Starting X position
      * @param y - Starting Y position
      * @param width - Pacman width
      * @param height - Pacman height
      */
-    public Pacman(GamePanel gp, int x, int y, int width, int height) {
-        super(gp, x, y, width, height);
+    public Pacman(GameState game, int x, int y, int width, int height) {
+        super(game, x, y, width, height);
 
-        // Load all directional images for animation
-        this.up = gp.pacmanUpImg;
-        this.down = gp.pacmanDownImg;
-        this.left = gp.pacmanLeftImg;
-        this.right = gp.pacmanRightImg;
-        
-        // Start with right-facing image (default)
-        this.img = right;
-        
         // Calculate speed based on tile size for grid alignment
-        this.speed = gp.tileSize / 4;
+        this.speed = game.tileSize / 4;
+    }
+
+    /**
+     * Give Pacman its 4 directional images
+     * 
+     * PRESENTATION POINT:
+     * - Called by the view (GamePanel); headless runs never call it
+     *   and Pacman simply has no image
+     * 
+     * @param up - Up-facing image
+     * @param down - Down-facing image
+     * @param left - Left-facing image
+     * @param right - Right-facing image
+     */
+    public void setSprites(Image up, Image down, Image left, Image right) {
+        this.up = up;
+        this.down = down;
+        this.left = left;
+        this.right = right;
+        updateImage();
     }
 
     /**
@@ -109,14 +120,8 @@ public class Pacman extends Entity {
         x += xVelocity;
         y += yVelocity;
         
-        // Check for collisions with this test move
-        boolean colWithNewDir = false;
-        for (Entity wall : gp.walls) {
-            if (gp.collision(this, wall)) {
-                colWithNewDir = true;  // Would hit a wall!
-                break;
-            }
-        }
+        // Check for collisions with this test move (O(1) wall grid lookup)
+        boolean colWithNewDir = game.collidesWithWall(this);
         
         // UNDO the test move (backtrack to original position)
         x -= xVelocity;
@@ -137,13 +142,10 @@ public class Pacman extends Entity {
         this.y += yVelocity;
 
         // Check for collision with walls
-        for (Entity wall : gp.walls) {
-            if (gp.collision(this, wall)) {
-                // Hit a wall! Step back
-                this.x -= xVelocity;
-                this.y -= yVelocity;
-                break;
-            }
+        if (game.collidesWithWall(this)) {
+            // Hit a wall! Step back
+            this.x -= xVelocity;
+            this.y -= yVelocity;
         }
         
         // Update the displayed image based on current direction
@@ -0,0 +1,53 @@
+package entity;
+
+/**
+ * Pathfinder - Common interface for all ghost pathfinding algorithms
+ *
+ * PRESENTATION POINTS:
+ * 1. INTERFACE - Defines WHAT a pathfinder does, not HOW
+ * 2. POLYMORPHISM - Ghost works with any implementation:
+ *    - BFSPathfinder      (classic BFS, object nodes)
+ *    - FastBFSPathfinder  (BFS on primitive arrays)
+ *    - AStarPathfinder    (A* with Manhattan heuristic)
+ *    - JumpPointPathfinder (A* that skips straight corridors)
+ *    - DStarLitePathfinder (Moving Target D* Lite, reuses its search tree)
+ * 3. STRATEGY PATTERN - Each ghost picks its algorithm from configuration
+ *    (see Pathfinders)
+ */
+public interface Pathfinder {
+
+    /**
+     * Find a shortest path from start to target, writing it into an existing list
+     *
+     * PRESENTATION POINT:
+     * - The caller owns the list and reuses it: no allocation per search
+     *
+     * @param startX - Ghost's current X position (pixels)
+     * @param startY - Ghost's current Y position (pixels)
+     * @param targetX - Pacman's X position (pixels)
+     * @param targetY - Pacman's Y position (pixels)
+     * @param path - Cleared and refilled with the directions
+     * @return true if a path was found (empty if already at target)
+     */
+    boolean findPath(int startX, int startY, int targetX, int targetY, PathLinkedList path);
+
+    /**
+     * Find a shortest path from start to target into a new list
+     *
+     * @return PathLinkedList with directions, or null if no path
+     */
+    default PathLinkedList findPath(int startX, int startY, int targetX, int targetY) {
+        PathLinkedList path = new PathLinkedList();
+        return findPath(startX, startY, targetX, targetY, path) ? path : null;
+    }
+
+    /**
+     * Number of nodes the last findPath() call expanded
+     *
+     * PRESENTATION POINT:
+     * - Lets us compare algorithms by work done, not just by time
+     *
+     * @return expanded node count of the last search
+     */
+    int getLastExpandedCount();
+}
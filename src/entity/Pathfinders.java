@@ -0,0 +1,61 @@
+package entity;
+
+import main.GameState;
+
+/**
+ * Pathfinders - Creates the pathfinding algorithm each ghost uses
+ *
+ * PRESENTATION POINTS:
+ * 1. FACTORY METHOD - Turns a configuration name into an object
+ * 2. CONFIGURATION via JVM system properties:
+ *    -Dpacman.pathfinder=astar          (all ghosts)
+ *    -Dpacman.pathfinder.red=jps        (only the red ghost)
+ *
+ * NAMES:
+ * - auto    : shared navigation (next-hop table or distance field), default
+ * - bfs     : BFSPathfinder
+ * - fastbfs : FastBFSPathfinder
+ * - astar   : AStarPathfinder
+ * - jps     : JumpPointPathfinder
+ * - dstar   : DStarLitePathfinder (Moving Target D* Lite, reuses its search tree)
+ */
+public class Pathfinders {
+
+    public static final String DEFAULT = "auto";
+
+    private Pathfinders() {
+    }
+
+    /**
+     * Create the pathfinder configured for one ghost
+     *
+     * @param ghostName - Ghost name used in the property key (e.g. "red")
+     * @param game - Game state reference
+     * @return configured pathfinder, or null for shared navigation ("auto")
+     */
+    public static Pathfinder forGhost(String ghostName, GameState game) {
+        String name = System.getProperty("pacman.pathfinder." + ghostName,
+                System.getProperty("pacman.pathfinder", DEFAULT));
+        return create(name, game);
+    }
+
+    /**
+     * Create a pathfinder by name
+     *
+     * @param name - One of auto, bfs, fastbfs, astar, jps, dstar
+     * @param game - Game state reference
+     * @return new pathfinder, or null for "auto"
+     */
+    public static Pathfinder create(String name, GameState game) {
+        switch (name.trim().toLowerCase()) {
+            case "auto": return null;
+            case "bfs": return new BFSPathfinder(game);
+            case "fastbfs": return new FastBFSPathfinder(game);
+            case "astar": return new AStarPathfinder(game);
+            case "jps": return new JumpPointPathfinder(game);
+            case "dstar": return new DStarLitePathfinder(game);
+            default:
+                throw new IllegalArgumentException("Unknown pathfinder: " + name);
+        }
+    }
+}
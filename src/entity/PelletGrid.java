@@ -0,0 +1,173 @@
+package entity;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * PelletGrid - All pellets of a level as one bit per tile
+ *
+ * PRESENTATION POINTS:
+ * 1. BITSET DATA STRUCTURE - Bit set = the tile still has its pellet
+ * 2. SAME INDEXING AS WallGrid - index = row * columnCount + col
+ * 3. RUNNING COUNT - "Level complete?" is count == 0, no scan needed
+ * 4. O(1) EAT DETECTION - Pacman covers at most 2×2 tiles,
+ *    so only those bits are checked
+ *
+ * WHY NOT ENTITY OBJECTS?
+ * - Every pellet looks the same: a small square in the middle of its tile
+ * - Its position follows from the tile, so one bit is enough
+ * - ~200 pellets = 4 longs instead of ~200 objects in a HashSet
+ */
+public class PelletGrid {
+
+    // Pellet square size and its offset inside the tile (pixels)
+    public static final int SIZE = 4;
+
+    private final int rowCount;
+    private final int columnCount;
+    private final int tileSize;
+    private final int offset;
+
+    // Bit i is set when tile (i / columnCount, i % columnCount) has a pellet
+    private final BitSet cells;
+
+    // Number of set bits
+    private int count = 0;
+
+    /**
+     * Constructor - Create a grid with no pellets
+     *
+     * @param rowCount - Number of tile rows
+     * @param columnCount - Number of tile columns
+     * @param tileSize - Size of one tile in pixels
+     */
+    public PelletGrid(int rowCount, int columnCount, int tileSize) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.tileSize = tileSize;
+        this.offset = (tileSize - SIZE) / 2;
+        this.cells = new BitSet(rowCount * columnCount);
+    }
+
+    /**
+     * Constructor - Create a grid from saved bits (see toLongArray)
+     *
+     * @param rowCount - Number of tile rows
+     * @param columnCount - Number of tile columns
+     * @param tileSize - Size of one tile in pixels
+     * @param words - Pellet bits, 64 tiles per long
+     */
+    public PelletGrid(int rowCount, int columnCount, int tileSize, long[] words) {
+        this(rowCount, columnCount, tileSize);
+        cells.or(BitSet.valueOf(words));
+        count = cells.cardinality();
+    }
+
+    /**
+     * Put a pellet on a tile
+     *
+     * @param row - Tile row
+     * @param col - Tile column
+     */
+    public void add(int row, int col) {
+        int tile = row * columnCount + col;
+        if (!cells.get(tile)) {
+            cells.set(tile);
+            count++;
+        }
+    }
+
+    /**
+     * Check if a tile still has its pellet
+     *
+     * @param row - Tile row
+     * @param col - Tile column
+     * @return true if there is a pellet (false outside the grid)
+     */
+    public boolean has(int row, int col) {
+        if (row < 0 || row >= rowCount || col < 0 || col >= columnCount) {
+            return false;
+        }
+        return cells.get(row * columnCount + col);
+    }
+
+    /**
+     * Eat every pellet whose square overlaps a box (e.g. Pacman)
+     *
+     * ALGORITHM STEPS:
+     * Step 1: Find the tile range the box covers (at most 2×2 for Pacman)
+     * Step 2: For each tile with a pellet, test the exact pellet square
+     * Step 3: Clear the bit and remember the tile
+     *
+     * @param x - Box left (pixels)
+     * @param y - Box top (pixels)
+     * @param width - Box width
+     * @param height - Box height
+     * @param eatenTiles - Receives the tile index of each eaten pellet
+     * @return number of pellets eaten (at most eatenTiles.length)
+     */
+    public int eatOverlapping(int x, int y, int width, int height, int[] eatenTiles) {
+        // === STEP 1: Tile range, clamped to the grid ===
+        int firstRow = Math.max(0, Math.floorDiv(y, tileSize));
+        int lastRow = Math.min(rowCount - 1, Math.floorDiv(y + height - 1, tileSize));
+        int firstCol = Math.max(0, Math.floorDiv(x, tileSize));
+        int lastCol = Math.min(columnCount - 1, Math.floorDiv(x + width - 1, tileSize));
+
+        int eaten = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int tile = row * columnCount + col;
+                if (!cells.get(tile) || eaten == eatenTiles.length) {
+                    continue;
+                }
+
+                // === STEP 2: Exact overlap with the pellet square ===
+                int px = col * tileSize + offset;
+                int py = row * tileSize + offset;
+                if (px < x + width && x < px + SIZE && py < y + height && y < py + SIZE) {
+                    // === STEP 3: Eat it ===
+                    cells.clear(tile);
+                    count--;
+                    eatenTiles[eaten++] = tile;
+                }
+            }
+        }
+        return eaten;
+    }
+
+    /**
+     * Next tile with a pellet, for drawing: for (t = next(0); t >= 0; t = next(t + 1))
+     *
+     * @param fromTile - First tile index to look at
+     * @return tile index, or -1 if there are no more pellets
+     */
+    public int next(int fromTile) {
+        return cells.nextSetBit(fromTile);
+    }
+
+    // Top-left corner of the pellet square on a tile (pixels)
+    public int pelletX(int tile) {
+        return (tile % columnCount) * tileSize + offset;
+    }
+
+    public int pelletY(int tile) {
+        return (tile / columnCount) * tileSize + offset;
+    }
+
+    /**
+     * Pellet bits for saving, 64 tiles per long
+     *
+     * @return words covering every tile of the grid
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(cells.toLongArray(), (rowCount * columnCount + 63) / 64);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+}
@@ -0,0 +1,155 @@
+package entity;
+
+import java.util.Arrays;
+
+/**
+ * WallGrid - Packed occupancy grid for constant-time wall lookup
+ *
+ * PRESENTATION POINTS:
+ * 1. PACKED BITS - One bit per tile (rowCount × columnCount bits), 64 per long
+ * 2. ROW-MAJOR INDEXING - index = row * columnCount + col
+ * 3. O(1) LOOKUP - Replaces the linear scan over every wall entity
+ *
+ * WHY A GRID?
+ * - Walls never move during a level, so we build this once in loadMapData
+ * - Pathfinding and collision ask "is there a wall here?" thousands of times
+ * - Cost now depends on the grid size only, not on how many walls exist
+ */
+public class WallGrid {
+
+    private final int rowCount;
+    private final int columnCount;
+    private final int tileSize;
+
+    // log2(tileSize) when it is a power of two (always in the game), else -1:
+    // x >> tileShift is floorDiv(x, tileSize) without a division instruction
+    private final int tileShift;
+
+    // Bit i is set when tile (i / columnCount, i % columnCount) is a wall:
+    // bit i % 64 of words[i / 64]. A plain array rather than a BitSet, so
+    // a lookup is one array read with no range checks inside the BitSet
+    private final long[] words;
+
+    /**
+     * Constructor - Create an empty grid (no walls)
+     *
+     * @param rowCount - Number of tile rows
+     * @param columnCount - Number of tile columns
+     * @param tileSize - Size of one tile in pixels
+     */
+    public WallGrid(int rowCount, int columnCount, int tileSize) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.tileSize = tileSize;
+        this.tileShift = (Integer.bitCount(tileSize) == 1) ? Integer.numberOfTrailingZeros(tileSize) : -1;
+        this.words = new long[(rowCount * columnCount + 63) / 64];
+    }
+
+    /**
+     * Constructor - Create a grid from saved bits (see toLongArray)
+     *
+     * PRESENTATION POINT:
+     * - Used when loading a level file: one bulk copy, no per-tile work
+     *
+     * @param rowCount - Number of tile rows
+     * @param columnCount - Number of tile columns
+     * @param tileSize - Size of one tile in pixels
+     * @param words - Wall bits, 64 tiles per long
+     */
+    public WallGrid(int rowCount, int columnCount, int tileSize, long[] words) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.tileSize = tileSize;
+        this.tileShift = (Integer.bitCount(tileSize) == 1) ? Integer.numberOfTrailingZeros(tileSize) : -1;
+        this.words = Arrays.copyOf(words, (rowCount * columnCount + 63) / 64);
+    }
+
+    /**
+     * Mark a tile as a wall
+     *
+     * @param row - Grid row
+     * @param col - Grid column
+     */
+    public void setWall(int row, int col) {
+        int index = row * columnCount + col;
+        words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Check if a grid position contains a wall
+     *
+     * PRESENTATION POINT:
+     * - Single bit read: O(1)
+     * - Positions outside the grid are not walls (teleport tunnels leave the map)
+     *
+     * @param row - Grid row to check
+     * @param col - Grid column to check
+     * @return true if wall exists at position
+     */
+    public boolean isWall(int row, int col) {
+        if (row < 0 || row >= rowCount || col < 0 || col >= columnCount) {
+            return false;
+        }
+        int index = row * columnCount + col;
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Check if a pixel rectangle overlaps any wall tile
+     *
+     * PRESENTATION POINTS:
+     * - Only looks at the tiles the rectangle covers (at most 4 for a tile-sized entity)
+     * - Same result as Rectangle.intersects() against every wall:
+     *   edges that only touch do not count as overlap
+     *
+     * @param x - Left edge in pixels
+     * @param y - Top edge in pixels
+     * @param width - Width in pixels
+     * @param height - Height in pixels
+     * @return true if any covered tile is a wall
+     */
+    public boolean overlapsWall(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return false;
+        }
+        int firstCol, lastCol, firstRow, lastRow;
+        if (tileShift >= 0) {
+            // Every entity move ends up here: shifts instead of four divisions
+            firstCol = x >> tileShift;
+            lastCol = (x + width - 1) >> tileShift;
+            firstRow = y >> tileShift;
+            lastRow = (y + height - 1) >> tileShift;
+        } else {
+            firstCol = Math.floorDiv(x, tileSize);
+            lastCol = Math.floorDiv(x + width - 1, tileSize);
+            firstRow = Math.floorDiv(y, tileSize);
+            lastRow = Math.floorDiv(y + height - 1, tileSize);
+        }
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                if (isWall(row, col)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wall bits for saving, 64 tiles per long (tile i = bit i % 64 of word i / 64)
+     *
+     * @return words covering every tile of the grid
+     */
+    public long[] toLongArray() {
+        return words.clone();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+}
@@ -58,10 +58,10 @@ public class KeyboardInputs implements KeyListener {
         // During gameplay - control Pacman
         if (!gamePanel.getGameOver()) {
             switch (e.getKeyCode()) {
-                case KeyEvent.VK_W: gamePanel.pacman.setDirection('U'); break;  // W = Up
-                case KeyEvent.VK_S: gamePanel.pacman.setDirection('D'); break;  // S = Down
-                case KeyEvent.VK_A: gamePanel.pacman.setDirection('L'); break;  // A = Left
-                case KeyEvent.VK_D: gamePanel.pacman.setDirection('R'); break;  // D = Right
+                case KeyEvent.VK_W: gamePanel.setPacmanDirection('U'); break;  // W = Up
+                case KeyEvent.VK_S: gamePanel.setPacmanDirection('D'); break;  // S = Down
+                case KeyEvent.VK_A: gamePanel.setPacmanDirection('L'); break;  // A = Left
+                case KeyEvent.VK_D: gamePanel.setPacmanDirection('R'); break;  // D = Right
             }
         }
         // During game over - restart game
@@ -0,0 +1,83 @@
+package main;
+
+import javax.swing.JComponent;
+
+/**
+ * Screen rectangles that changed during one tick.
+ * Overlapping rectangles are merged, the rest are painted one by one:
+ * repaint(x, y, w, h) would let Swing union them all into one big area.
+ */
+public class DirtyRegions {
+
+    private static final int CAPACITY = 32;
+
+    private final int[] left = new int[CAPACITY];
+    private final int[] top = new int[CAPACITY];
+    private final int[] right = new int[CAPACITY];
+    private final int[] bottom = new int[CAPACITY];
+    private int count = 0;
+
+    // Set when too many regions pile up; then the whole component is painted
+    private boolean overflow = false;
+
+    public void add(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        int l = x;
+        int t = y;
+        int r = x + width;
+        int b = y + height;
+
+        // Grow the new rectangle over every one it touches, then store it once
+        for (int i = 0; i < count; i++) {
+            if (l <= right[i] && left[i] <= r && t <= bottom[i] && top[i] <= b) {
+                l = Math.min(l, left[i]);
+                t = Math.min(t, top[i]);
+                r = Math.max(r, right[i]);
+                b = Math.max(b, bottom[i]);
+                removeAt(i);
+                i = -1;  // the bigger rectangle may now touch earlier ones
+            }
+        }
+
+        if (count == CAPACITY) {
+            overflow = true;
+            return;
+        }
+        left[count] = l;
+        top[count] = t;
+        right[count] = r;
+        bottom[count] = b;
+        count++;
+    }
+
+    public boolean isEmpty() {
+        return count == 0 && !overflow;
+    }
+
+    // Paint every region now (must run on the event dispatch thread) and clear the list
+    public void paint(JComponent component) {
+        if (overflow) {
+            component.paintImmediately(0, 0, component.getWidth(), component.getHeight());
+        } else {
+            for (int i = 0; i < count; i++) {
+                component.paintImmediately(left[i], top[i], right[i] - left[i], bottom[i] - top[i]);
+            }
+        }
+        clear();
+    }
+
+    public void clear() {
+        count = 0;
+        overflow = false;
+    }
+
+    private void removeAt(int i) {
+        count--;
+        left[i] = left[count];
+        top[i] = top[count];
+        right[i] = right[count];
+        bottom[i] = bottom[count];
+    }
+}
@@ -0,0 +1,46 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ * Frame times of the last frames, for percentile reports (p50, p95, p99).
+ * A fixed ring buffer, so recording a frame allocates nothing.
+ */
+public class FrameStats {
+
+    private final long[] samples;
+    private int next = 0;
+    private int count = 0;
+
+    public FrameStats(int window) {
+        this.samples = new long[window];
+    }
+
+    public void record(long frameNanos) {
+        samples[next] = frameNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    // Frame time in nanoseconds that p percent of the recorded frames stay under
+    public long percentile(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(p / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    public String report() {
+        return String.format("frames %d  p50 %.2f ms  p95 %.2f ms  p99 %.2f ms  max %.2f ms",
+                count, percentile(50) / 1e6, percentile(95) / 1e6, percentile(99) / 1e6, percentile(100) / 1e6);
+    }
+}
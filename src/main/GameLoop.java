@@ -0,0 +1,159 @@
+package main;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Active rendering: one thread steps the game at a fixed rate and draws
+ * frames as fast as allowed, interpolating sprites between the last two ticks.
+ *
+ * Enabled with -Dpacman.render=active. Frame rate with -Dpacman.fps:
+ *   vsync (default) - capped at the display refresh rate
+ *   uncapped        - no limit
+ *   a number        - that many frames per second
+ * -Dpacman.frameStats=true prints frame time percentiles every few seconds.
+ */
+public class GameLoop implements Runnable {
+
+    // Same game speed as the Swing timer (one tick every 50 ms)
+    public static final long STEP_NANOS = 50_000_000L;
+
+    // After a stall, catch up at most this much simulated time
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    private static final long REPORT_NANOS = 5_000_000_000L;
+
+    private final GamePanel panel;
+    private final Canvas canvas;
+    private long frameNanos;
+    private final boolean printStats;
+    private final FrameStats stats = new FrameStats(4096);
+
+    private volatile boolean running = false;
+    private Thread thread;
+
+    public GameLoop(GamePanel panel, Canvas canvas) {
+        this.panel = panel;
+        this.canvas = canvas;
+        this.printStats = Boolean.getBoolean("pacman.frameStats");
+    }
+
+    public static boolean isEnabled() {
+        return "active".equalsIgnoreCase(System.getProperty("pacman.render", "timer"));
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        // Needs a displayed canvas: its screen and refresh rate are known only now
+        frameNanos = frameNanos(System.getProperty("pacman.fps", "vsync"), canvas.getGraphicsConfiguration());
+        if (canvas.getBufferStrategy() == null) {
+            canvas.createBufferStrategy(2);
+        }
+        running = true;
+        thread = new Thread(this, "game-loop");
+        thread.start();
+    }
+
+    // Ends the loop after the current frame (GamePanel.stopGame)
+    public synchronized void stop() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public FrameStats getFrameStats() {
+        return stats;
+    }
+
+    @Override
+    public void run() {
+        BufferStrategy strategy = canvas.getBufferStrategy();
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        long lastReport = previous;
+
+        while (running) {
+            long frameStart = System.nanoTime();
+            long elapsed = frameStart - previous;
+            previous = frameStart;
+            // Stats get the real frame time, the simulation at most MAX_FRAME_NANOS
+            accumulator += Math.min(elapsed, MAX_FRAME_NANOS);
+
+            // Fixed-step simulation, however long the frame took
+            panel.applyPendingInput();
+            while (accumulator >= STEP_NANOS) {
+                panel.tick();
+                accumulator -= STEP_NANOS;
+            }
+
+            render(strategy, (double) accumulator / STEP_NANOS);
+            stats.record(elapsed);
+
+            if (printStats && frameStart - lastReport >= REPORT_NANOS) {
+                System.out.println(stats.report());
+                lastReport = frameStart;
+            }
+
+            // Frame cap: wait until this frame's time slot is over
+            if (frameNanos > 0) {
+                long wakeUp = frameStart + frameNanos;
+                long now;
+                while ((now = System.nanoTime()) < wakeUp) {
+                    LockSupport.parkNanos(wakeUp - now);
+                }
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private void render(BufferStrategy strategy, double alpha) {
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    g.setColor(Color.BLACK);
+                    g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+                    panel.draw(g, alpha);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        // Flush the window system queue so the frame appears now (matters on X11)
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    // Java has no portable vsync switch, so "vsync" caps at the display refresh rate
+    private static long frameNanos(String fps, GraphicsConfiguration gc) {
+        switch (fps.trim().toLowerCase()) {
+            case "uncapped":
+                return 0;
+            case "vsync":
+                int hz = 60;
+                if (gc != null) {
+                    int refresh = gc.getDevice().getDisplayMode().getRefreshRate();
+                    if (refresh > 0) {
+                        hz = refresh;
+                    }
+                }
+                return 1_000_000_000L / hz;
+            default:
+                int rate = Integer.parseInt(fps.trim());
+                if (rate <= 0) {
+                    throw new IllegalArgumentException("pacman.fps must be positive: " + fps);
+                }
+                return 1_000_000_000L / rate;
+        }
+    }
+}
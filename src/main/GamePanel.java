@@ -4,24 +4,31 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Random;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import entity.Entity;
 import entity.Ghost;
+import entity.GhostGrid;
 import entity.Pacman;
-import java.awt.event.KeyAdapter;
-import java.awt.event.KeyEvent;
+import entity.PelletGrid;
+import inputs.KeyboardInputs;
 
 public class GamePanel extends JPanel implements ActionListener {
 
     HighScoreManager scoreManager = new HighScoreManager();
     boolean isScoreSaved = false;
 
+    // Window size: the classic 19 x 21 tile maze (larger levels scroll, the camera follows Pacman)
     public static final int rowCount = 21;
     public static final int columnCount = 19;
-    public static final int tileSize = 32;
+    public static final int tileSize = GameState.tileSize;
     public static final int WIDTH = columnCount * tileSize;
     public static final int HEIGHT = rowCount * tileSize;
 
@@ -32,161 +39,197 @@ public class GamePanel extends JPanel implements ActionListener {
     public Image pacmanUpImg, pacmanDownImg, pacmanLeftImg, pacmanRightImg;
     private final Image blueGhostImg, redGhostImg, pinkGhostImg, orangeGhostImg;
 
-    public HashSet<Entity> walls;
-    public HashSet<Entity> foods;
-    public HashSet<Ghost> ghosts;
-    public HashSet<Entity> wallTu;
+    // The game itself; this panel only draws it and forwards input
+    public final GameState state = new GameState();
+    private int spriteMapVersion = -1;
 
-    public Pacman pacman;
+    // Walls pre-rendered once per map; null until the next draw after a map load.
+    // Only maps up to this many tiles get one (64 x 64 tiles = 16 MB), bigger
+    // ones draw the walls in view every frame
+    private static final int MAX_BACKGROUND_TILES = 64 * 64;
+    private BufferedImage background;
+
+    // Camera: the map pixel shown at the panel's top-left corner
+    private int cameraX = 0;
+    private int cameraY = 0;
+
+    // Ghosts near the window, refilled by findVisibleGhosts (reused, no list per frame)
+    private final List<Ghost> visibleGhosts = new ArrayList<>();
+
+    private final Font hudFont = new Font("Arial", Font.PLAIN, 18);
+
+    // Areas to repaint after a tick instead of the whole panel
+    private final DirtyRegions dirty = new DirtyRegions();
+    private boolean repaintAll = true;
 
     Timer gameLoop;
-    public Random random = new Random();
-
-    int score = 0;
-    int lives = 3;
-
-    public int currentLevel = 1;
-    public static boolean gameOver = false;
-    public static boolean gameWon = false;
-
-    private String[] tileMap = {
-            "XXXXXXXXXXXXXXXXXXX",
-            "X        X        X",
-            "X XX XXX X XXX XX X",
-            "X                 X",
-            "X XX X XXXXX X XX X",
-            "X    X       X    X",
-            "XXXX XXXX XXXX XXXX",
-            "OOOX X       X XOOO",
-            "XXXX X X r X X XXXX",
-            "O       bpo       O",
-            "XXXX X XXXXX X XXXX",
-            "OOOX X       X XOOO",
-            "XXXX X XXXXX X XXXX",
-            "X        X        X",
-            "X XX XXX X XXX XX X",
-            "X  X     P     X  X",
-            "XX X X XXXXX X X XX",
-            "X    X   X   X    X",
-            "X XXXXXX X XXXXXX X",
-            "X                 X",
-            "XXXXXXXXXXXXXXXXXXX"
-    };
-
-    private String[] tileMap2 = {
-            "XXXXXXXXXXXXXXXXXXX",
-            "XP      XOOOX     X",
-            "X XXXXX XOOOX XXX X",
-            "X XXXXX XXXXX XXX X",
-            "X             X   X",
-            "X XXXXX XXX X X X O",
-            "X   X   XXX X X X X",
-            "X X X X     X X X X",
-            "X X X X X X X   X X",
-            "X X X X X X XXXXX X",
-            "X     X X  opr    X",
-            "X X X X XXX b X   X",
-            "X X       X XXXXX X",
-            "X X XXXXX X       X",
-            "X   X     X XXX X X",
-            "X X X X X X     X X",
-            "X X X X X X XXXXX X",
-            "X X   X           O",
-            "X X XXXXX XX XXXX X",
-            "X                 X",
-            "XXXXXXXXXXXXXXXXXXX"
-    };
+
+    // Active rendering (-Dpacman.render=active): loop thread + canvas, else null
+    private final GameLoop activeLoop;
+    private Canvas canvas;
+
+    // Input recording (-Dpacman.record=file): saved at every game over and once a minute
+    private static final int CHECKPOINT_TICKS = 1200;
+    private final Path recordFile;
+
+    // Key presses handed from the event thread to the loop thread
+    private final AtomicInteger pendingDirection = new AtomicInteger(0);
+    private final AtomicBoolean pendingRestart = new AtomicBoolean(false);
 
     public GamePanel() {
         this.setPreferredSize(new Dimension(WIDTH, HEIGHT));
         this.setBackground(Color.BLACK);
         this.setLayout(null);
 
-        wallImageLvl1 = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/wall.png"))).getImage();
-        wallImageLvl2Normal = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/wallLvl2Normal.png"))).getImage();
-        wallImageLvl2Tu = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/wallLvl2Tu.png"))).getImage();
-        pacmanUpImg = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/pacmanUp.png"))).getImage();
-        pacmanDownImg = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/pacmanDown.png"))).getImage();
-        pacmanLeftImg = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/pacmanLeft.png"))).getImage();
-        pacmanRightImg = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/pacmanRight.png"))).getImage();
-        blueGhostImg = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/blueGhost.png"))).getImage();
-        redGhostImg = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/redGhost.png"))).getImage();
-        pinkGhostImg = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/pinkGhost.png"))).getImage();
-        orangeGhostImg = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/orangeGhost.png"))).getImage();
-
-        loadMap();
-
-        this.addKeyListener(new KeyAdapter() {
-            @Override
-            public void keyPressed(KeyEvent e) {
-                if (gameOver && e.getKeyCode() == KeyEvent.VK_SPACE) {
-                    resetGame();
-                } else if (!gameOver && pacman != null) {
-                    pacman.keyPressed(e);
-                }
-            }
-        });
+        scoreManager.loadInBackground();
+
+        String record = System.getProperty("pacman.record");
+        recordFile = (record != null) ? Path.of(record) : null;
+        if (recordFile != null) {
+            state.recorder = new InputRecorder(state.seed);
+        }
+
+        SpriteAtlas atlas = SpriteAtlas.get();
+        wallImageLvl1 = atlas.sprite("wall");
+        wallImageLvl2Normal = atlas.sprite("wallLvl2Normal");
+        wallImageLvl2Tu = atlas.sprite("wallLvl2Tu");
+        pacmanUpImg = atlas.sprite("pacmanUp");
+        pacmanDownImg = atlas.sprite("pacmanDown");
+        pacmanLeftImg = atlas.sprite("pacmanLeft");
+        pacmanRightImg = atlas.sprite("pacmanRight");
+        blueGhostImg = atlas.sprite("blueGhost");
+        redGhostImg = atlas.sprite("redGhost");
+        pinkGhostImg = atlas.sprite("pinkGhost");
+        orangeGhostImg = atlas.sprite("orangeGhost");
+
+        applySprites();
+
+        KeyboardInputs keyboardInputs = new KeyboardInputs(this);
+        this.addKeyListener(keyboardInputs);
         this.setFocusable(true);
         this.requestFocusInWindow();
 
         gameLoop = new Timer(50, this);
+
+        if (GameLoop.isEnabled()) {
+            canvas = new Canvas();
+            canvas.setBounds(0, 0, WIDTH, HEIGHT);
+            canvas.setIgnoreRepaint(true);
+            canvas.addKeyListener(keyboardInputs);
+            this.add(canvas);
+            activeLoop = new GameLoop(this, canvas);
+        } else {
+            activeLoop = null;
+        }
+    }
+
+    // Entities are created without images; give them sprites after each map load
+    private void applySprites() {
+        if (spriteMapVersion == state.getMapVersion()) {
+            return;
+        }
+        spriteMapVersion = state.getMapVersion();
+
+        for (Ghost ghost : state.getGhosts()) {
+            switch (ghost.name) {
+                case "blue": ghost.img = blueGhostImg; break;
+                case "red": ghost.img = redGhostImg; break;
+                case "orange": ghost.img = orangeGhostImg; break;
+                case "pink": ghost.img = pinkGhostImg; break;
+            }
+        }
+        state.pacman.setSprites(pacmanUpImg, pacmanDownImg, pacmanLeftImg, pacmanRightImg);
+        background = null;
     }
 
-    public void loadMap() {
-        loadMapData(tileMap, wallImageLvl1, null);
-    }
-
-    public void loadMap2() {
-        loadMapData(tileMap2, wallImageLvl2Normal, wallImageLvl2Tu);
-    }
-
-    private void loadMapData(String[] mapData, Image wallImg, Image specialWallImg) {
-        walls = new HashSet<>();
-        foods = new HashSet<>();
-        ghosts = new HashSet<>();
-        wallTu = new HashSet<>();
-
-        for (int row = 0; row < rowCount; row++) {
-            for (int col = 0; col < columnCount; col++) {
-                String rows = mapData[row];
-                char tileMapChar = rows.charAt(col);
-                int x = col * tileSize;
-                int y = row * tileSize;
-
-                if (tileMapChar == 'X') {
-                    Entity wall = new Entity(this, x, y, tileSize, tileSize);
-                    wall.img = wallImg;
-                    walls.add(wall);
-                } else if (tileMapChar == 'Y') {
-                    Entity wall = new Entity(this, x, y, tileSize, tileSize);
-                    wall.img = specialWallImg;
-                    walls.add(wall);
-                } else if (tileMapChar == 'b') {
-                    ghosts.add(new Ghost(this, x, y, tileSize, tileSize, blueGhostImg));
-                } else if (tileMapChar == 'r') {
-                    ghosts.add(new Ghost(this, x, y, tileSize, tileSize, redGhostImg));
-                } else if (tileMapChar == 'o') {
-                    ghosts.add(new Ghost(this, x, y, tileSize, tileSize, orangeGhostImg));
-                } else if (tileMapChar == 'p') {
-                    ghosts.add(new Ghost(this, x, y, tileSize, tileSize, pinkGhostImg));
-                } else if (tileMapChar == 'P') {
-                    pacman = new Pacman(this, x, y, tileSize, tileSize);
-                } else if (tileMapChar == ' ') {
-                    Entity food = new Entity(this, x + 14, y + 14, 4, 4);
-                    foods.add(food);
+    // Walls never change within a level, so draw them once into an image (null: map too big)
+    private BufferedImage getBackgroundLayer() {
+        Level level = state.level;
+        if (background == null && level.rows * level.cols <= MAX_BACKGROUND_TILES) {
+            int width = state.getWidth();
+            int height = state.getHeight();
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            background = (gc != null)
+                    ? gc.createCompatibleImage(width, height)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+            Graphics2D bg = background.createGraphics();
+            bg.setColor(getBackground());
+            bg.fillRect(0, 0, width, height);
+            drawWalls(bg, 0, level.rows - 1, 0, level.cols - 1);
+            bg.dispose();
+        }
+        return background;
+    }
+
+    // Wall tiles of the given rows and columns (inclusive), in map coordinates
+    private void drawWalls(Graphics g, int firstRow, int lastRow, int firstCol, int lastCol) {
+        Image wallImg = (state.currentLevel == 1) ? wallImageLvl1 : wallImageLvl2Normal;
+        Level level = state.level;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                char tile = level.tile(row, col);
+                if (tile == 'X' || tile == 'Y') {
+                    g.drawImage(tile == 'Y' ? wallImageLvl2Tu : wallImg,
+                            col * tileSize, row * tileSize, tileSize, tileSize, null);
                 }
             }
         }
     }
 
+    // Keep Pacman in the middle of the window, without scrolling past the map edges
+    private void moveCamera(double alpha) {
+        Pacman pacman = state.pacman;
+        int maxX = Math.max(0, state.getWidth() - WIDTH);
+        int maxY = Math.max(0, state.getHeight() - HEIGHT);
+        cameraX = Math.max(0, Math.min(maxX, pacman.drawX(alpha) + pacman.width / 2 - WIDTH / 2));
+        cameraY = Math.max(0, Math.min(maxY, pacman.drawY(alpha) + pacman.height / 2 - HEIGHT / 2));
+    }
+
+    // Between two ticks a sprite is drawn at most one size away from its position
+    private boolean isInView(Entity e) {
+        return e.x + 2 * e.width > cameraX && e.x - e.width < cameraX + WIDTH
+                && e.y + 2 * e.height > cameraY && e.y - e.height < cameraY + HEIGHT;
+    }
+
+    // The ghosts in view, looked up in the buckets under the window instead of checking every ghost
+    private List<Ghost> findVisibleGhosts() {
+        visibleGhosts.clear();
+        GhostGrid grid = state.getGhostGrid();
+        List<Ghost> ghosts = state.getGhosts();
+        // A ghost is bucketed by its top-left corner and drawn up to two tiles from it
+        int firstRow = grid.cellRow(cameraY - 2 * tileSize);
+        int lastRow = grid.cellRow(cameraY + HEIGHT + tileSize);
+        int firstCol = grid.cellCol(cameraX - 2 * tileSize);
+        int lastCol = grid.cellCol(cameraX + WIDTH + tileSize);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                for (int i = grid.first(row, col); i >= 0; i = grid.next(i)) {
+                    Ghost ghost = ghosts.get(i);
+                    if (isInView(ghost)) {
+                        visibleGhosts.add(ghost);
+                    }
+                }
+            }
+        }
+        return visibleGhosts;
+    }
+
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        draw(g);
+        if (activeLoop == null) {  // else the loop thread draws on the canvas
+            draw(g);
+        }
     }
 
     public void draw(Graphics g) {
-        if (gameOver) { // both win and lose
+        draw(g, 1.0);
+    }
+
+    // alpha: how far between the previous and current tick to draw the sprites
+    public void draw(Graphics g, double alpha) {
+        if (state.isGameOver()) { // both win and lose
 
             g.setColor(Color.BLACK);
             g.fillRect(0, 0, WIDTH, HEIGHT);
@@ -194,7 +237,7 @@ public class GamePanel extends JPanel implements ActionListener {
             g.setFont(new Font("Arial", Font.BOLD, 40));
             String text = ""; // placeholder
 
-            if (gameWon) {
+            if (state.isGameWon()) {
                 g.setColor(Color.GREEN);
                 text = "YOU WIN!";
             } else {
@@ -209,112 +252,147 @@ public class GamePanel extends JPanel implements ActionListener {
             g.drawString(subText, 200, HEIGHT / 2 - 50);
 
             g.setColor(Color.YELLOW);
-            g.drawString("Score: " + score, 200, HEIGHT / 2); // x=200, y=336
+            g.drawString("Score: " + state.getScore(), 200, HEIGHT / 2); // x=200, y=336
 
             g.setColor(Color.WHITE);
             g.setFont(new Font("Arial", Font.BOLD, 20));
             g.drawString("--- TOP HIGHSCORES ---", 170, HEIGHT / 2 + 50);
 
             int y = HEIGHT / 2 + 80;
-            for (Score s : scoreManager.scoreList) {
+            for (Score s : scoreManager.getTopScores()) {
                 g.drawString(s.name + " : " + s.point, 200, y);
                 y += 30;
             }
 
         } else {
-            pacman.draw(g);
-            for (Ghost ghost : ghosts) ghost.draw(g);
-            for (Entity wall : walls) wall.draw(g);
+            // Only the tiles and sprites inside the window, found through the tile grid
+            moveCamera(alpha);
+            int firstRow = cameraY / tileSize;
+            int firstCol = cameraX / tileSize;
+            int lastRow = Math.min(state.getRowCount() - 1, (cameraY + HEIGHT - 1) / tileSize);
+            int lastCol = Math.min(state.getColumnCount() - 1, (cameraX + WIDTH - 1) / tileSize);
+
+            g.translate(-cameraX, -cameraY);
+            BufferedImage bg = getBackgroundLayer();
+            if (bg != null) {
+                g.drawImage(bg, 0, 0, null);
+            } else {
+                drawWalls(g, firstRow, lastRow, firstCol, lastCol);
+            }
+            state.pacman.draw(g, alpha);
+            for (Ghost ghost : findVisibleGhosts()) {
+                ghost.draw(g, alpha);
+            }
             g.setColor(Color.YELLOW);
-            for (Entity food : foods) g.fillRect(food.x, food.y, food.width, food.height);
+            PelletGrid pellets = state.pellets;
+            int cols = state.getColumnCount();
+            for (int row = firstRow; row <= lastRow; row++) {
+                int end = row * cols + lastCol;
+                for (int tile = pellets.next(row * cols + firstCol); tile >= 0 && tile <= end; tile = pellets.next(tile + 1)) {
+                    g.fillRect(pellets.pelletX(tile), pellets.pelletY(tile), PelletGrid.SIZE, PelletGrid.SIZE);
+                }
+            }
+            g.translate(cameraX, cameraY);
 
-            g.setFont(new Font("Arial", Font.PLAIN, 18));
+            g.setFont(hudFont);
             g.setColor(Color.WHITE);
-            g.drawString("Level: " + currentLevel + "  Lives: " + lives + "  Score: " + score, tileSize / 2, tileSize / 2);
+            g.drawString(hudText(), tileSize / 2, tileSize / 2);
         }
     }
 
+    private String hudText() {
+        return "Level: " + state.currentLevel + "  Lives: " + state.getLives() + "  Score: " + state.getScore();
+    }
+
     public void update() {
-        pacman.update();
-        for (Ghost ghost : ghosts) {
-            ghost.update();
-            if (collision(ghost, pacman)) {
-                lives--;
-                if (lives == 0) {
-                    gameOver = true;
-                    gameWon = false;
-                    return;
-                }
-                resetPosition();
-            }
+        state.step();
+        applySprites();
+        if (recordFile != null && (state.isGameOver() || state.getTick() % CHECKPOINT_TICKS == 0)) {
+            saveRecording();
         }
+    }
 
-        checkTeleport();
+    private void saveRecording() {
+        try {
+            state.recorder.save(recordFile, state);
+        } catch (IOException e) {
+            System.err.println("Could not save recording to " + recordFile + ": " + e);
+        }
+    }
 
-        Entity foodEaten = null;
-        for (Entity food : foods) {
-            if (collision(food, pacman)) {
-                foodEaten = food;
-                score += 10;
-            }
+    // One tick, repainting only where Pacman, the ghosts, eaten pellets and the HUD changed
+    private void updateAndRepaintChanges() {
+        int mapVersion = state.getMapVersion();
+        int oldCameraX = cameraX;
+        int oldCameraY = cameraY;
+        String oldHud = hudText();
+        markSprites();
+
+        update();
+        moveCamera(1.0);
+
+        if (repaintAll || state.isGameOver() || mapVersion != state.getMapVersion()
+                || cameraX != oldCameraX || cameraY != oldCameraY) {
+            // New screen, new level or scrolled: everything changed
+            repaintAll = false;
+            dirty.clear();
+            repaint();
+            return;
         }
-        foods.remove(foodEaten);
-
-        if (foods.isEmpty()) {
-            if (currentLevel == 1) {
-                currentLevel = 2;
-                loadMap2();
-                resetPosition();
-            } else if (currentLevel == 2) {
-                gameOver = true;
-                gameWon = true;
-            }
+
+        markSprites();
+        for (int i = 0; i < state.getEatenCount(); i++) {
+            int tile = state.getEatenTile(i);
+            dirty.add(state.pellets.pelletX(tile) - cameraX, state.pellets.pelletY(tile) - cameraY,
+                    PelletGrid.SIZE, PelletGrid.SIZE);
+        }
+        String newHud = hudText();
+        if (!newHud.equals(oldHud)) {
+            markHud(oldHud);
+            markHud(newHud);
         }
+        dirty.paint(this);
     }
 
-    private void checkTeleport() {
-        if (pacman.direction == 'R' && pacman.y == tileSize * 9 && pacman.x + pacman.width >= WIDTH) {
-            pacman.x = 0;
-        } else if (pacman.direction == 'L' && pacman.y == tileSize * 9 && pacman.x <= 0) {
-            pacman.x = tileSize * 19;
-        } else if (pacman.direction == 'R' && pacman.y == tileSize * 5 && pacman.x + pacman.width >= WIDTH) {
-            pacman.x = tileSize * 19;
-            pacman.y = tileSize * 17;
-            pacman.setDirection('L');
-        } else if (pacman.direction == 'R' && pacman.y == tileSize * 17 && pacman.x + pacman.width >= WIDTH) {
-            pacman.x = tileSize * 19;
-            pacman.y = tileSize * 5;
-            pacman.setDirection('L');
+    // Screen rectangles of the sprites in view
+    private void markSprites() {
+        Pacman pacman = state.pacman;
+        dirty.add(pacman.x - cameraX, pacman.y - cameraY, pacman.width, pacman.height);
+        for (Ghost ghost : findVisibleGhosts()) {
+            dirty.add(ghost.x - cameraX, ghost.y - cameraY, ghost.width, ghost.height);
         }
     }
 
-    public void resetPosition() {
-        pacman.reset();
-        for (Ghost ghost : ghosts) {
-            ghost.reset();
+    private void markHud(String text) {
+        FontMetrics fm = getFontMetrics(hudFont);
+        int baseline = tileSize / 2;
+        dirty.add(tileSize / 2, baseline - fm.getMaxAscent(), fm.stringWidth(text) + 1, fm.getMaxAscent() + fm.getMaxDescent());
+    }
+
+    public void setPacmanDirection(char direction) {
+        if (activeLoop != null) {
+            pendingDirection.set(direction);
+        } else {
+            state.setPacmanDirection(direction);
         }
     }
 
     public void resetGame() {
-        score = 0;
-        lives = 3;
-        currentLevel = 1;
-        gameOver = false;
-        gameWon = false;
+        if (activeLoop != null) {
+            pendingRestart.set(true);
+            return;
+        }
+        state.resetGame();
+        applySprites();
         isScoreSaved = false;
-        loadMap();
+        repaintAll = true;
         gameLoop.start();
     }
 
-    public boolean collision(Entity a, Entity b) {
-        return a.getBounds().intersects(b.getBounds());
-    }
-
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (!gameOver) {
-            update();
-            repaint();
+        if (!state.isGameOver()) {
+            updateAndRepaintChanges();
         } else {
             checkAndSaveScore();
             repaint();
@@ -322,22 +400,74 @@ public class GamePanel extends JPanel implements ActionListener {
     }
 
     public void startGame() {
+        if (activeLoop != null) {
+            activeLoop.start();
+            canvas.requestFocusInWindow();
+            return;
+        }
         if (gameLoop != null && !gameLoop.isRunning()) {
             gameLoop.start();
         }
         requestFocusInWindow();
     }
 
+    // Window closed or panel removed: no more ticks or frames
+    public void stopGame() {
+        if (activeLoop != null) {
+            activeLoop.stop();
+        }
+        gameLoop.stop();
+    }
+
+    @Override
+    public void removeNotify() {
+        stopGame();
+        super.removeNotify();
+    }
+
+    // Loop thread: apply the keys pressed since the last frame
+    void applyPendingInput() {
+        if (pendingRestart.getAndSet(false)) {
+            state.resetGame();
+            applySprites();
+            isScoreSaved = false;
+        }
+        char direction = (char) pendingDirection.getAndSet(0);
+        if (direction != 0) {
+            state.setPacmanDirection(direction);
+        }
+    }
+
+    // Loop thread: one fixed simulation step
+    void tick() {
+        if (!state.isGameOver()) {
+            update();
+        } else if (!isScoreSaved) {
+            // The loop waits while the name dialog is open on the event thread
+            try {
+                SwingUtilities.invokeAndWait(this::checkAndSaveScore);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    public GameLoop getActiveLoop() {
+        return activeLoop;
+    }
+
     private void checkAndSaveScore() {
-        if (gameOver && !isScoreSaved) {
+        if (state.isGameOver() && !isScoreSaved) {
 
-            String name = JOptionPane.showInputDialog(this, "Game Over! Score: " + score + "\nEnter your name:");
+            String name = JOptionPane.showInputDialog(this, "Game Over! Score: " + state.getScore() + "\nEnter your name:");
 
             if (name == null || name.trim().isEmpty()) {
                 name = "Null";
             }
             // add score to score manager
-            scoreManager.addScore(name, score);
+            scoreManager.addScore(name, state.getScore());
 
             // set to true --> not save again
             isScoreSaved = true;
@@ -345,19 +475,19 @@ public class GamePanel extends JPanel implements ActionListener {
     }
 
     public boolean getGameOver() {
-        return gameOver;
+        return state.isGameOver();
     }
 
     public void setLives(int lives) {
-        this.lives = lives;
+        state.setLives(lives);
     }
 
     public void setScore(int score) {
-        this.score = score;
+        state.setScore(score);
     }
 
-    public void setGameOver(boolean state) {
-        gameOver = state;
+    public void setGameOver(boolean gameOver) {
+        state.setGameOver(gameOver);
     }
 
     public Timer getGameLoop() {
@@ -365,6 +495,6 @@ public class GamePanel extends JPanel implements ActionListener {
     }
 
     public Pacman getPacman() {
-        return pacman;
+        return state.pacman;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,600 @@
+package main;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import entity.DistanceField;
+import entity.Entity;
+import entity.EntityStore;
+import entity.Ghost;
+import entity.GhostGrid;
+import entity.GhostTuning;
+import entity.NextHopTable;
+import entity.Pacman;
+import entity.PelletGrid;
+import entity.WallGrid;
+
+/**
+ * Game rules and world state, with no Swing or rendering code.
+ * GamePanel draws it and drives step() from its timer; batch runs
+ * (AI training, balance tests) can call step() in a plain loop.
+ * Entity images stay null unless a view assigns them.
+ */
+public class GameState {
+
+    // Grid size comes from the current level (getRowCount / getColumnCount)
+    public static final int tileSize = 32;
+
+    public Level level;
+    public PelletGrid pellets;
+    // Read through getGhosts(): with an EntityStore the objects are only brought up to date there
+    private List<Ghost> ghosts;
+    public WallGrid wallGrid;
+    public NextHopTable nextHopTable;
+    private DistanceField pacmanField;
+
+    public Pacman pacman;
+
+    // Tiles whose pellet the last step() ate (Pacman covers at most 4 tiles)
+    private final int[] eatenTiles = new int[4];
+    private int eatenCount = 0;
+
+    // Every random choice (ghost AI) comes from here, so a seed and the
+    // inputs fix the whole game (see InputRecorder / Replay)
+    public final long seed;
+    public Random random;
+
+    // Ghost difficulty (GhostTuning.DEFAULT unless a balance run picks another)
+    public final GhostTuning ghostTuning;
+
+    // Levels with at least this many ghosts let them decide in parallel
+    // (-Dpacman.parallelGhosts=N, 0 = always one after another, see stepGhosts)
+    public int parallelGhosts = Integer.getInteger("pacman.parallelGhosts", 0);
+
+    // True while the ghosts decide in parallel: the Pacman field is already up to date
+    private boolean pacmanFieldReady = false;
+
+    // Ghosts stepped through an EntityStore (-Dpacman.entityStore=true);
+    // the store is built on the first step() of each level, null while off.
+    // While it is in use, changes made to the Ghost objects are not seen
+    public boolean useEntityStore = Boolean.getBoolean("pacman.entityStore");
+    private EntityStore entityStore;
+
+    // step() calls so far, across restarts
+    private long tick = 0;
+
+    // Ghosts by map area (see getGhostGrid), rebuilt when ghostMoves has changed
+    private GhostGrid ghostGrid;
+    private long ghostMoves = 0;
+    private long ghostGridMoves = -1;
+
+    // Records player input when set (null: not recording)
+    public InputRecorder recorder;
+
+    int score = 0;
+    int lives = 3;
+
+    public int currentLevel = 1;
+    boolean gameOver = false;
+    boolean gameWon = false;
+
+    // Bumped on every map load so views know when to refresh sprites
+    private int mapVersion = 0;
+
+    // Levels in play order (see loadLevels)
+    private final List<Level> levels;
+    private static List<Level> builtinLevels;
+    private static final Map<String, List<Level>> loadedLevels = new HashMap<>();
+
+    private static final String[] tileMap = {
+            "XXXXXXXXXXXXXXXXXXX",
+            "X        X        X",
+            "X XX XXX X XXX XX X",
+            "X                 X",
+            "X XX X XXXXX X XX X",
+            "X    X       X    X",
+            "XXXX XXXX XXXX XXXX",
+            "OOOX X       X XOOO",
+            "XXXX X X r X X XXXX",
+            "O       bpo       O",
+            "XXXX X XXXXX X XXXX",
+            "OOOX X       X XOOO",
+            "XXXX X XXXXX X XXXX",
+            "X        X        X",
+            "X XX XXX X XXX XX X",
+            "X  X     P     X  X",
+            "XX X X XXXXX X X XX",
+            "X    X   X   X    X",
+            "X XXXXXX X XXXXXX X",
+            "X                 X",
+            "XXXXXXXXXXXXXXXXXXX"
+    };
+
+    private static final String[] tileMap2 = {
+            "XXXXXXXXXXXXXXXXXXX",
+            "XP      XOOOX     X",
+            "X XXXXX XOOOX XXX X",
+            "X XXXXX XXXXX XXX X",
+            "X             X   X",
+            "X XXXXX XXX X X X O",
+            "X   X   XXX X X X X",
+            "X X X X     X X X X",
+            "X X X X X X X   X X",
+            "X X X X X X XXXXX X",
+            "X     X X  opr    X",
+            "X X X X XXX b X   X",
+            "X X       X XXXXX X",
+            "X X XXXXX X       X",
+            "X   X     X XXX X X",
+            "X X X X X X     X X",
+            "X X X X X X XXXXX X",
+            "X X   X           O",
+            "X X XXXXX XX XXXX X",
+            "X                 X",
+            "XXXXXXXXXXXXXXXXXXX"
+    };
+
+    // Seed from -Dpacman.seed, else a random one
+    public GameState() {
+        this(Long.getLong("pacman.seed", new Random().nextLong()));
+    }
+
+    public GameState(long seed) {
+        this(seed, GhostTuning.DEFAULT);
+    }
+
+    public GameState(long seed, GhostTuning ghostTuning) {
+        this(seed, ghostTuning, loadLevels());
+    }
+
+    // Play the given levels instead of the configured ones (generated mazes, benchmarks)
+    public GameState(long seed, GhostTuning ghostTuning, List<Level> levels) {
+        if (levels.isEmpty()) {
+            throw new IllegalArgumentException("No levels");
+        }
+        this.seed = seed;
+        this.ghostTuning = ghostTuning;
+        this.levels = List.copyOf(levels);
+        this.random = new Random(seed);
+        loadLevel(1);
+    }
+
+    public void loadMap() {
+        loadLevel(1);
+    }
+
+    public void loadMap2() {
+        loadLevel(2);
+    }
+
+    /**
+     * Start a level (1-based): fresh pellets, entities at their spawns.
+     * Walls and the next-hop table are shared with the Level, never copied.
+     */
+    public void loadLevel(int number) {
+        level = levels.get(number - 1);
+        currentLevel = number;
+
+        wallGrid = level.getWalls();
+        pellets = level.createPellets();
+        ghosts = new ArrayList<>(level.getGhostCount());
+        for (int i = 0; i < level.getGhostCount(); i++) {
+            int x = level.getGhostCol(i) * tileSize;
+            int y = level.getGhostRow(i) * tileSize;
+            ghosts.add(new Ghost(this, x, y, tileSize, tileSize, ghostName(level.getGhostKind(i))));
+        }
+        pacman = new Pacman(this, level.pacmanCol * tileSize, level.pacmanRow * tileSize, tileSize, tileSize);
+
+        nextHopTable = level.getNextHopTable();
+        pacmanField = (nextHopTable == null) ? new DistanceField(wallGrid) : null;
+        entityStore = null;
+        ghostGrid = new GhostGrid(level.rows, level.cols, tileSize);
+        ghostMoves++;
+        mapVersion++;
+    }
+
+    private static String ghostName(char kind) {
+        switch (kind) {
+            case 'b': return "blue";
+            case 'r': return "red";
+            case 'o': return "orange";
+            default: return "pink";
+        }
+    }
+
+    /**
+     * Levels in play order: a generated maze for -Dpacman.maze=ROWSxCOLS[,ghosts[,seed]],
+     * else .pacl files from -Dpacman.levelDir, else the built-in maps.
+     * Read once per setting and shared, like the built-in levels.
+     */
+    private static List<Level> loadLevels() {
+        String maze = System.getProperty("pacman.maze");
+        if (maze != null) {
+            synchronized (loadedLevels) {
+                return loadedLevels.computeIfAbsent("maze:" + maze, key -> List.of(MazeGenerator.fromSpec(maze)));
+            }
+        }
+        String dir = System.getProperty("pacman.levelDir");
+        if (dir == null) {
+            return getBuiltinLevels();
+        }
+        synchronized (loadedLevels) {
+            return loadedLevels.computeIfAbsent(dir, GameState::readLevelDir);
+        }
+    }
+
+    private static List<Level> readLevelDir(String dir) {
+        List<Level> list = new ArrayList<>();
+        try {
+            for (int n = 1; Files.exists(Path.of(dir, "level" + n + ".pacl")); n++) {
+                list.add(Level.read(Path.of(dir, "level" + n + ".pacl")));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (list.isEmpty()) {
+            throw new IllegalStateException("No level1.pacl in " + dir);
+        }
+        return List.copyOf(list);
+    }
+
+    // Parsed once and shared: levels are immutable
+    static synchronized List<Level> getBuiltinLevels() {
+        if (builtinLevels == null) {
+            List<Level> list = new ArrayList<>();
+            for (String[] map : getBuiltinMaps()) {
+                list.add(Level.fromText(map, true));
+            }
+            builtinLevels = List.copyOf(list);
+        }
+        return builtinLevels;
+    }
+
+    // The text maps compiled into the game, for LevelConverter --builtin
+    public static List<String[]> getBuiltinMaps() {
+        return List.of(tileMap, tileMap2);
+    }
+
+    // One game tick: move everything, then apply collisions, food and level rules
+    public void step() {
+        tick++;
+        ghostMoves++;
+        eatenCount = 0;
+        if (gameOver) {
+            return;
+        }
+
+        EntityStore store = getEntityStore();
+        pacman.savePosition();
+        if (store != null) {
+            store.savePositions();
+        } else {
+            for (Ghost ghost : ghosts) {
+                ghost.savePosition();
+            }
+        }
+
+        pacman.update();
+        if (!stepGhosts(store)) {
+            return;
+        }
+
+        checkTeleport();
+
+        // Every pellet Pacman touches is eaten, 10 points each
+        eatenCount = pellets.eatOverlapping(pacman.x, pacman.y, pacman.width, pacman.height, eatenTiles);
+        score += 10 * eatenCount;
+
+        if (pellets.isEmpty()) {
+            if (currentLevel < levels.size()) {
+                loadLevel(currentLevel + 1);
+                resetPosition();
+            } else {
+                gameOver = true;
+                gameWon = true;
+            }
+        }
+    }
+
+    /**
+     * Move every ghost and check it against Pacman; false once the last life is lost.
+     *
+     * With parallelGhosts set and enough ghosts this is a two-phase tick:
+     * all ghosts decide (mode, pathfinding) in parallel, against walls and
+     * a Pacman that do not change meanwhile, then they move one after
+     * another in list order, which is where game.random is used. A catch
+     * resets every position, so the ghosts after it decide again the
+     * sequential way. The game comes out exactly as with the plain loop.
+     *
+     * With a store the same steps run on its arrays instead of the objects.
+     */
+    private boolean stepGhosts(EntityStore store) {
+        int first = 0;
+        if (parallelGhosts > 0 && ghosts.size() >= parallelGhosts) {
+            if (nextHopTable == null) {
+                getPacmanField();
+            }
+            pacmanFieldReady = true;
+            try {
+                IntStream.range(0, ghosts.size()).parallel().forEach(i -> decideGhost(store, i));
+            } finally {
+                pacmanFieldReady = false;
+            }
+
+            for (; first < ghosts.size(); first++) {
+                moveGhost(store, first);
+                if (touchesPacman(store, first)) {
+                    if (!catchPacman()) {
+                        return false;
+                    }
+                    first++;
+                    break;
+                }
+            }
+        }
+
+        for (int i = first; i < ghosts.size(); i++) {
+            decideGhost(store, i);
+            moveGhost(store, i);
+            if (touchesPacman(store, i) && !catchPacman()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void decideGhost(EntityStore store, int i) {
+        if (store != null) {
+            store.decide(i);
+        } else {
+            ghosts.get(i).decide();
+        }
+    }
+
+    private void moveGhost(EntityStore store, int i) {
+        if (store != null) {
+            store.move(i);
+        } else {
+            ghosts.get(i).move();
+        }
+    }
+
+    private boolean touchesPacman(EntityStore store, int i) {
+        return (store != null) ? store.overlaps(i, pacman) : collision(ghosts.get(i), pacman);
+    }
+
+    // The level's store while useEntityStore is on, else null
+    private EntityStore getEntityStore() {
+        if (!useEntityStore) {
+            if (entityStore != null) {
+                entityStore.publish();  // Back to the objects
+                entityStore = null;
+            }
+        } else if (entityStore == null) {
+            entityStore = new EntityStore(this, ghosts);
+        }
+        return entityStore;
+    }
+
+    /**
+     * The ghosts bucketed by map area, built at most once per tick and
+     * only when asked for (views use it to find the ghosts on screen)
+     */
+    public GhostGrid getGhostGrid() {
+        if (ghostGridMoves != ghostMoves) {
+            ghostGrid.build(getGhosts());
+            ghostGridMoves = ghostMoves;
+        }
+        return ghostGrid;
+    }
+
+    /**
+     * The ghosts, up to date (copied out of the EntityStore if one is in use)
+     */
+    public List<Ghost> getGhosts() {
+        if (entityStore != null) {
+            entityStore.publish();
+        }
+        return ghosts;
+    }
+
+    // A ghost touched Pacman: lose a life and start over from the spawns, false if it was the last
+    private boolean catchPacman() {
+        lives--;
+        if (lives == 0) {
+            gameOver = true;
+            gameWon = false;
+            return false;
+        }
+        resetPosition();
+        return true;
+    }
+
+    // Tunnels (see Level): wrap to the other edge, or come back in on a linked row
+    private void checkTeleport() {
+        if (pacman.y % tileSize != 0) {
+            return;
+        }
+        int row = pacman.y / tileSize;
+        if (row < 0 || row >= level.rows) {
+            return;
+        }
+        int width = getWidth();
+        if (pacman.direction == 'R' && pacman.x + pacman.width >= width) {
+            int exit = level.getTunnelExit(row, true);
+            if (exit == row) {
+                pacman.x = 0;
+            } else if (exit >= 0) {
+                pacman.x = width;
+                pacman.y = exit * tileSize;
+                pacman.setDirection('L');
+            }
+        } else if (pacman.direction == 'L' && pacman.x <= 0) {
+            int exit = level.getTunnelExit(row, false);
+            if (exit == row) {
+                pacman.x = width;
+            } else if (exit >= 0) {
+                pacman.x = -pacman.width;
+                pacman.y = exit * tileSize;
+                pacman.setDirection('R');
+            }
+        }
+    }
+
+    public void resetPosition() {
+        ghostMoves++;
+        pacman.reset();
+        if (entityStore != null) {
+            entityStore.reset();
+            return;
+        }
+        for (Ghost ghost : ghosts) {
+            ghost.reset();
+        }
+    }
+
+    // Player input: takes effect in the next step()
+    public void setPacmanDirection(char direction) {
+        if (recorder != null) {
+            recorder.record(tick, direction);
+        }
+        pacman.setDirection(direction);
+    }
+
+    public void resetGame() {
+        if (recorder != null) {
+            recorder.record(tick, InputRecorder.NEW_GAME);
+        }
+        score = 0;
+        lives = 3;
+        gameOver = false;
+        gameWon = false;
+        loadLevel(1);
+    }
+
+    public boolean collision(Entity a, Entity b) {
+        return a.overlaps(b);
+    }
+
+    // Shared by all ghosts; only rebuilt when Pacman changes tile
+    public DistanceField getPacmanField() {
+        if (pacmanField != null && !pacmanFieldReady) {
+            pacmanField.moveSource(pacman.y / tileSize, pacman.x / tileSize);
+        }
+        return pacmanField;
+    }
+
+    public boolean collidesWithWall(Entity e) {
+        return wallGrid.overlapsWall(e.x, e.y, e.width, e.height);
+    }
+
+    /**
+     * Hash of the visible game state: counters, entity positions and
+     * directions, remaining pellets (FNV-1a, 64 bit). Ghost AI state (chase
+     * mode, path, recalculation counter) and the random generator are not
+     * included, so equal hashes do not promise the games go on the same way.
+     * Two runs with the same seed and inputs must agree on it every tick.
+     */
+    public long stateHash() {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, tick);
+        h = mix(h, score);
+        h = mix(h, lives);
+        h = mix(h, currentLevel);
+        h = mix(h, (gameOver ? 1 : 0) | (gameWon ? 2 : 0));
+        h = mix(h, pacman.x);
+        h = mix(h, pacman.y);
+        h = mix(h, pacman.direction);
+        for (Ghost ghost : getGhosts()) {
+            h = mix(h, ghost.x);
+            h = mix(h, ghost.y);
+            h = mix(h, ghost.direction);
+        }
+        for (long word : pellets.toLongArray()) {
+            h = mix(h, word);
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        for (int i = 0; i < 8; i++) {
+            h ^= (value >>> (8 * i)) & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getRowCount() {
+        return level.rows;
+    }
+
+    public int getColumnCount() {
+        return level.cols;
+    }
+
+    // Maze size in pixels
+    public int getWidth() {
+        return level.cols * tileSize;
+    }
+
+    public int getHeight() {
+        return level.rows * tileSize;
+    }
+
+    // Pellets eaten by the last step(): tiles getEatenTile(0 .. getEatenCount() - 1)
+    public int getEatenCount() {
+        return eatenCount;
+    }
+
+    public int getEatenTile(int i) {
+        return eatenTiles[i];
+    }
+
+    public int getMapVersion() {
+        return mapVersion;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean isGameWon() {
+        return gameWon;
+    }
+
+    public void setLives(int lives) {
+        this.lives = lives;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public void setGameOver(boolean state) {
+        gameOver = state;
+    }
+
+    public Pacman getPacman() {
+        return pacman;
+    }
+}
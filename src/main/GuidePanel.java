@@ -4,7 +4,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Objects;
 
 public class GuidePanel extends JPanel {
 
@@ -17,11 +16,13 @@ public class GuidePanel extends JPanel {
         this.setLayout(null);
         this.setPreferredSize(new Dimension(GamePanel.WIDTH, GamePanel.HEIGHT));
 
-        guideBgImage = new ImageIcon(Objects.requireNonNull(getClass().getResource("/res/guideBg.png"))).getImage();
+        // bg img (optional, null if not shipped)
+        SpriteAtlas atlas = SpriteAtlas.get();
+        guideBgImage = atlas.sprite("guideBg");
 
         // back btn
         backButton = new JButton();
-        backButton.setIcon(new ImageIcon(getClass().getResource("/res/btnBack.png")));
+        backButton.setIcon(new ImageIcon(atlas.sprite("btnBack")));
         backButton.setBounds(220, 400, 150, 50);
         backButton.setBorderPainted(false);
         backButton.setContentAreaFilled(false);
@@ -39,7 +40,7 @@ public class GuidePanel extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         if (guideBgImage != null) {
-            g.drawImage(guideBgImage, 0, 0, GamePanel.WIDTH, GamePanel.HEIGHT, null);
+            g.drawImage(guideBgImage, 0, 0, null);
         }
 
         g.setColor(Color.WHITE);
@@ -1,34 +1,359 @@
 package main;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
 
-public class HighScoreManager {
+/**
+ * High scores, kept across runs and shared by any number of game sessions.
+ *
+ * Every score is appended to a journal file (default ~/.pacman-scores,
+ * or -Dpacman.scoreFile). Record: int length, int CRC32 of the payload,
+ * payload = int point + UTF name. A record torn by a crash fails its
+ * length or CRC check and is cut off on the next load.
+ *
+ * Thread safety:
+ * - The best TOP_N scores live in a ConcurrentSkipListMap ordered by
+ *   (point, age), so concurrent adds never take a lock
+ * - Readers get an immutable snapshot list, rebuilt only after a change
+ * - addScore() only queues the record; one writer thread appends
+ *   everything queued with a single write and fsync (group commit).
+ *   flush() waits until what was added so far is on disk
+ *
+ * The journal is read by loadInBackground() (the game starts it with the
+ * window) or else on first use. A journal holding more than the kept scores
+ * is then rewritten down to them, so loading stays short however many
+ * games were ever played.
+ */
+public class HighScoreManager implements AutoCloseable {
 
-    public ArrayList<Score> scoreList = new ArrayList<>();
+    public static final int TOP_N = 5;
 
+    private static final int MAX_NAME = 64;
+    private static final int MAX_RECORD = 4 + 2 + 3 * MAX_NAME;
+
+    // Records waiting for the writer; addScore() blocks when it is full
+    private static final int QUEUE_CAPACITY = 1 << 16;
+
+    private final Path file;
+    private final int capacity;
+
+    // Best first: higher point, then older. Trimmed back to capacity after each insert
+    private final ConcurrentSkipListMap<Key, Score> top = new ConcurrentSkipListMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong nextSeq = new AtomicLong();
+
+    // Bumped after every change to top; an older snapshot is rebuilt on read
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot(-1, List.of());
+
+    private volatile boolean loaded = false;
+
+    private final BlockingQueue<ByteBuffer> pending = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong queued = new AtomicLong();
+    private final Object writtenLock = new Object();
+    private long written = 0;                        // guarded by writtenLock
+    private Thread writer;                           // guarded by this
+    private Thread shutdownHook;                     // guarded by this
+
+    private static final class Key implements Comparable<Key> {
+        final int point;
+        final long seq;
+
+        Key(int point, long seq) {
+            this.point = point;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return (point != other.point) ? Integer.compare(other.point, point) : Long.compare(seq, other.seq);
+        }
+    }
+
+    private static final class Snapshot {
+        final long version;
+        final List<Score> scores;
+
+        Snapshot(long version, List<Score> scores) {
+            this.version = version;
+            this.scores = scores;
+        }
+    }
+
+    public HighScoreManager() {
+        this(defaultFile(), TOP_N);
+    }
+
+    public HighScoreManager(Path file, int capacity) {
+        this.file = file;
+        this.capacity = capacity;
+    }
+
+    private static Path defaultFile() {
+        String path = System.getProperty("pacman.scoreFile");
+        return (path != null) ? Path.of(path) : Path.of(System.getProperty("user.home"), ".pacman-scores");
+    }
+
+    // Read the journal on a daemon thread now, so the first game over does not wait for it
+    public void loadInBackground() {
+        if (loaded) {
+            return;
+        }
+        Thread loader = new Thread(this::ensureLoaded, "score-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // Safe from any thread; the record reaches the disk shortly after (see flush)
     public void addScore(String name, int point) {
-        Score newScore = new Score(name, point);
-        scoreList.add(newScore);
+        ensureLoaded();
+        if (name.length() > MAX_NAME) {
+            name = name.substring(0, MAX_NAME);
+        }
+        Score score = new Score(name, point);
+        offer(score);
+
+        startWriter();
+        try {
+            pending.put(encode(score));
+            queued.incrementAndGet();
+        } catch (InterruptedException e) {
+            // Still counts for this run
+            Thread.currentThread().interrupt();
+            System.err.println("Score not saved, interrupted: " + name + " " + point);
+        }
+    }
+
+    // Best scores first, at most capacity of them. Immutable, safe to keep while others add
+    public List<Score> getTopScores() {
+        ensureLoaded();
+        long current = version.get();
+        Snapshot s = snapshot;
+        if (s.version != current) {
+            List<Score> list = new ArrayList<>(capacity);
+            Iterator<Score> it = top.values().iterator();
+            while (list.size() < capacity && it.hasNext()) {
+                list.add(it.next());
+            }
+            s = new Snapshot(current, List.copyOf(list));
+            snapshot = s;
+        }
+        return s.scores;
+    }
+
+    // Wait until every score added before this call is on disk (or failed to write)
+    public void flush() {
+        long target = queued.get();
+        synchronized (writtenLock) {
+            while (written < target) {
+                try {
+                    writtenLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Flush and stop the writer thread. Without it, a shutdown hook flushes at exit
+    @Override
+    public synchronized void close() {
+        flush();
+        if (writer != null) {
+            writer.interrupt();
+            writer = null;
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Already shutting down
+            }
+        }
+    }
+
+    private void offer(Score score) {
+        if (size.get() >= capacity) {
+            Map.Entry<Key, Score> weakest = top.lastEntry();
+            if (weakest != null && score.point <= weakest.getKey().point) {
+                return;  // ties keep the older score
+            }
+        }
+        top.put(new Key(score.point, nextSeq.getAndIncrement()), score);
+        if (size.incrementAndGet() > capacity && top.pollLastEntry() != null) {
+            size.decrementAndGet();
+        }
+        version.incrementAndGet();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                try {
+                    load();
+                } catch (IOException e) {
+                    System.err.println("Could not read scores from " + file + ": " + e);
+                }
+                loaded = true;
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        long validEnd = 0;
+        int records = 0;
+        boolean torn = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            CRC32 crc = new CRC32();
+            byte[] payload = new byte[MAX_RECORD];
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;  // clean end, or a torn length (checked below)
+                }
+                if (length < 6 || length > MAX_RECORD) {
+                    torn = true;
+                    break;
+                }
+                int checksum;
+                try {
+                    checksum = in.readInt();
+                    in.readFully(payload, 0, length);
+                } catch (EOFException e) {
+                    torn = true;
+                    break;
+                }
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    torn = true;
+                    break;
+                }
+
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload, 0, length));
+                int point = record.readInt();
+                offer(new Score(record.readUTF(), point));
+                validEnd += 8 + length;
+                records++;
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        }
 
-        sort();
+        if (records > capacity) {
+            // Only the kept scores matter: the next load reads capacity records, not all of them
+            compact();
+        } else if (torn || Files.size(file) != validEnd) {
+            // Drop the damaged tail so new records follow the last good one
+            System.err.println("Score file " + file + " has a damaged tail, truncating to " + validEnd + " bytes");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validEnd);
+                channel.force(true);
+            }
+        }
     }
 
-    // Decreasing order
-    public void sort() {
-        int n = scoreList.size();
+    // Replace the journal with the current top scores (new file, then an atomic rename)
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // Best first: equal points stay in their old order, so ties still keep the older score
+            for (Score score : top.values()) {
+                ByteBuffer record = encode(score);
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
 
-        for (int i = 0; i < n - 1; i++) {
-            for (int j = 0; j < n - i - 1; j++) {
+    private synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        writer = new Thread(this::writeLoop, "score-writer");
+        writer.setDaemon(true);
+        writer.start();
+        shutdownHook = new Thread(this::flush, "score-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
 
-                Score s1 = scoreList.get(j);
-                Score s2 = scoreList.get(j + 1);
+    // Everything queued since the last round goes out as one write + one fsync
+    private void writeLoop() {
+        List<ByteBuffer> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            pending.drainTo(batch);
 
-                if (s1.point < s2.point) {
-                    scoreList.set(j, s2);
-                    scoreList.set(j + 1, s1);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer[] buffers = batch.toArray(new ByteBuffer[0]);
+                ByteBuffer last = buffers[buffers.length - 1];
+                while (last.hasRemaining()) {
+                    channel.write(buffers);
                 }
+                channel.force(false);
+            } catch (IOException e) {
+                System.err.println("Could not save " + batch.size() + " scores to " + file + ": " + e);
             }
+
+            synchronized (writtenLock) {
+                written += batch.size();
+                writtenLock.notifyAll();
+            }
+            batch.clear();
         }
+    }
 
+    private static ByteBuffer encode(Score score) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream payload = new DataOutputStream(bytes);
+            payload.writeInt(score.point);
+            payload.writeUTF(score.name);
+            byte[] data = bytes.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            ByteBuffer record = ByteBuffer.allocate(8 + data.length);
+            record.putInt(data.length).putInt((int) crc.getValue()).put(data).flip();
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // in-memory stream, cannot happen
+        }
     }
-}
\ No newline at end of file
+}
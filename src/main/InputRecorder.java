@@ -0,0 +1,92 @@
+package main;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Records the player input of a game so Replay can run it again exactly.
+ * With the game's seed, the inputs and the tick each one arrived at are all
+ * that decides a game. Enabled in the game with -Dpacman.record=file.
+ *
+ * File layout:
+ *   int    magic 'PACR'
+ *   byte   version (1)
+ *   long   seed
+ *   events: varint ticks since the previous event, byte input
+ *           ('U', 'D', 'L', 'R', or 'N' for a new game)
+ *   end:    varint ticks since the last event, byte 0
+ *   varint final score
+ *   long   final stateHash()
+ * Varints are unsigned LEB128: 7 bits per byte, low bits first, so most
+ * events take 2 bytes.
+ */
+public class InputRecorder {
+
+    public static final int MAGIC = 0x50414352;  // "PACR"
+    public static final byte VERSION = 1;
+    public static final char NEW_GAME = 'N';
+
+    private final long seed;
+    private final ByteArrayOutputStream events = new ByteArrayOutputStream();
+    private long lastTick = 0;
+
+    public InputRecorder(long seed) {
+        this.seed = seed;
+    }
+
+    // Input that arrived after `tick` steps, before the next one
+    public void record(long tick, char input) {
+        writeVarLong(events, tick - lastTick);
+        events.write((byte) input);
+        lastTick = tick;
+    }
+
+    /**
+     * Everything recorded so far, ending at the game's current tick
+     *
+     * @param state - The recorded game; its score and hash close the file
+     */
+    public byte[] toBytes(GameState state) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(events.size() + 32);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            events.writeTo(out);
+            writeVarLong(out, state.getTick() - lastTick);
+            out.writeByte(0);
+            writeVarLong(out, state.getScore());
+            out.writeLong(state.stateHash());
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // in-memory stream, cannot happen
+        }
+    }
+
+    // Write to a temp file, then rename: a crash never leaves half a recording
+    public void save(Path file, GameState state) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, toBytes(state));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static void writeVarLong(OutputStream out, long value) {
+        try {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import entity.NextHopTable;
+import entity.PelletGrid;
+import entity.WallGrid;
+
+/**
+ * One level, ready to play: tile grid, wall and pellet masks, spawn points
+ * and (optionally) the precomputed next-hop table. Immutable once built, so
+ * one instance is shared by every game that plays it.
+ *
+ * Levels come from the text maps ('X' wall, 'Y' special wall, ' ' pellet,
+ * 'P' Pacman, 'b'/'r'/'o'/'p' ghosts, anything else empty) or from a binary
+ * .pacl file written by write(). Binary layout, big-endian:
+ *
+ *   int    magic 'PACL'
+ *   short  version (2)
+ *   short  flags (bit 0: next-hop table present)
+ *   int    rows, cols
+ *   int    pacmanRow, pacmanCol
+ *   int    ghostDownRow (-1: none)
+ *   int    ghostCount, then per ghost: byte kind ('b','r','o','p'), int row, int col
+ *   int    wordCount, then long[wordCount] walls, long[wordCount] pellets
+ *   byte[rows * cols] tiles
+ *   if flag 0: byte[nodeCount * nodeCount] next-hop table (nodeCount = walkable tiles)
+ *
+ * Tunnels follow from the edge tiles: a row open at both edges wraps around,
+ * and rows open at one edge only are linked in pairs, outermost first
+ * (tileMap2's rows 5 and 17 both lead out on the right into each other).
+ */
+public final class Level {
+
+    public static final int MAGIC = 0x5041434C;  // "PACL"
+    public static final short VERSION = 2;
+    private static final short FLAG_NEXT_HOP = 1;
+
+    // The built-in maps send ghosts down when they cross row 9 sideways (out of the ghost house)
+    public static final int CLASSIC_GHOST_DOWN_ROW = 9;
+
+    public final int rows;
+    public final int cols;
+    public final int pacmanRow;
+    public final int pacmanCol;
+
+    // Ghosts moving sideways on this row turn down (-1: no such row)
+    public final int ghostDownRow;
+
+    // Ghost spawns: kind letter and tile of each ghost, in map order
+    private final byte[] ghostKinds;
+    private final int[] ghostRows;
+    private final int[] ghostCols;
+
+    private final byte[] tiles;
+    private final long[] wallWords;
+    private final long[] pelletWords;
+    private final WallGrid walls;
+    private final NextHopTable nextHopTable;
+
+    // Per row: where leaving through the left / right edge leads (-1: no tunnel)
+    private final int[] leftExits;
+    private final int[] rightExits;
+
+    private Level(int rows, int cols, int pacmanRow, int pacmanCol, int ghostDownRow,
+                  byte[] ghostKinds, int[] ghostRows, int[] ghostCols,
+                  byte[] tiles, long[] wallWords, long[] pelletWords, WallGrid walls, NextHopTable nextHopTable) {
+        this.rows = rows;
+        this.cols = cols;
+        this.pacmanRow = pacmanRow;
+        this.pacmanCol = pacmanCol;
+        this.ghostDownRow = ghostDownRow;
+        this.ghostKinds = ghostKinds;
+        this.ghostRows = ghostRows;
+        this.ghostCols = ghostCols;
+        this.tiles = tiles;
+        this.wallWords = wallWords;
+        this.pelletWords = pelletWords;
+        this.walls = walls;
+        this.nextHopTable = nextHopTable;
+        this.leftExits = new int[rows];
+        this.rightExits = new int[rows];
+        linkTunnels();
+    }
+
+    private void linkTunnels() {
+        Arrays.fill(leftExits, -1);
+        Arrays.fill(rightExits, -1);
+        int[] leftOnly = new int[rows];
+        int[] rightOnly = new int[rows];
+        int leftCount = 0;
+        int rightCount = 0;
+        for (int row = 0; row < rows; row++) {
+            boolean left = !walls.isWall(row, 0);
+            boolean right = !walls.isWall(row, cols - 1);
+            if (left && right) {
+                leftExits[row] = row;
+                rightExits[row] = row;
+            } else if (left) {
+                leftOnly[leftCount++] = row;
+            } else if (right) {
+                rightOnly[rightCount++] = row;
+            }
+        }
+        pairUp(leftOnly, leftCount, leftExits);
+        pairUp(rightOnly, rightCount, rightExits);
+    }
+
+    private static void pairUp(int[] rowList, int count, int[] exits) {
+        for (int i = 0; i < count / 2; i++) {
+            int a = rowList[i];
+            int b = rowList[count - 1 - i];
+            exits[a] = b;
+            exits[b] = a;
+        }
+    }
+
+    /**
+     * Parse a text map with the built-in maps' ghost rule and precompute its navigation data
+     *
+     * @param map - One string per row, all the same length
+     * @param withNextHopTable - Also build the next-hop table (if the maze is small enough)
+     */
+    public static Level fromText(String[] map, boolean withNextHopTable) {
+        return fromText(map, CLASSIC_GHOST_DOWN_ROW, withNextHopTable);
+    }
+
+    /**
+     * Parse a text map and precompute its navigation data
+     *
+     * @param map - One string per row, all the same length
+     * @param ghostDownRow - Row where sideways ghosts turn down, -1 for none
+     * @param withNextHopTable - Also build the next-hop table (if the maze is small enough)
+     */
+    public static Level fromText(String[] map, int ghostDownRow, boolean withNextHopTable) {
+        int rows = map.length;
+        int cols = (rows == 0) ? 0 : map[0].length();
+        if (rows == 0 || cols == 0) {
+            throw new IllegalArgumentException("Empty map");
+        }
+
+        byte[] tiles = new byte[rows * cols];
+        WallGrid walls = new WallGrid(rows, cols, GameState.tileSize);
+        PelletGrid pellets = new PelletGrid(rows, cols, GameState.tileSize);
+        int pacmanRow = -1;
+        int pacmanCol = -1;
+        int ghostCount = 0;
+        byte[] ghostKinds = new byte[rows * cols];
+        int[] ghostRows = new int[rows * cols];
+        int[] ghostCols = new int[rows * cols];
+
+        for (int row = 0; row < rows; row++) {
+            if (map[row].length() != cols) {
+                throw new IllegalArgumentException("Row " + row + " has " + map[row].length() + " tiles, expected " + cols);
+            }
+            for (int col = 0; col < cols; col++) {
+                char c = map[row].charAt(col);
+                tiles[row * cols + col] = (byte) c;
+                switch (c) {
+                    case 'X':
+                    case 'Y':
+                        walls.setWall(row, col);
+                        break;
+                    case ' ':
+                        pellets.add(row, col);
+                        break;
+                    case 'P':
+                        pacmanRow = row;
+                        pacmanCol = col;
+                        break;
+                    case 'b':
+                    case 'r':
+                    case 'o':
+                    case 'p':
+                        ghostKinds[ghostCount] = (byte) c;
+                        ghostRows[ghostCount] = row;
+                        ghostCols[ghostCount] = col;
+                        ghostCount++;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        if (pacmanRow < 0) {
+            throw new IllegalArgumentException("Map has no Pacman ('P')");
+        }
+
+        NextHopTable table = withNextHopTable ? NextHopTable.build(walls) : null;
+        return new Level(rows, cols, pacmanRow, pacmanCol, ghostDownRow,
+                Arrays.copyOf(ghostKinds, ghostCount),
+                Arrays.copyOf(ghostRows, ghostCount),
+                Arrays.copyOf(ghostCols, ghostCount),
+                tiles, walls.toLongArray(), pellets.toLongArray(), walls, table);
+    }
+
+    /**
+     * Load a binary level file (memory-mapped, every section is a bulk copy)
+     */
+    public static Level read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return read(in);
+            } catch (RuntimeException e) {
+                // Truncated or corrupt file: BufferUnderflowException, bad sizes...
+                throw new IOException("Bad level file " + file + ": " + e, e);
+            }
+        }
+    }
+
+    static Level read(ByteBuffer in) throws IOException {
+        if (in.getInt() != MAGIC) {
+            throw new IOException("Not a level file");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported level file version " + version);
+        }
+        short flags = in.getShort();
+
+        int rows = in.getInt();
+        int cols = in.getInt();
+        if (rows < 1 || rows > MazeGenerator.MAX_SIZE || cols < 1 || cols > MazeGenerator.MAX_SIZE) {
+            throw new IOException("Bad level size " + rows + "x" + cols);
+        }
+        int pacmanRow = in.getInt();
+        int pacmanCol = in.getInt();
+        checkTile("Pacman", pacmanRow, pacmanCol, rows, cols);
+        int ghostDownRow = in.getInt();
+        if (ghostDownRow < -1 || ghostDownRow >= rows) {
+            throw new IOException("Bad ghost-down row " + ghostDownRow);
+        }
+
+        // 9 bytes per ghost: checked before allocating anything for them
+        int ghostCount = in.getInt();
+        if (ghostCount < 0 || ghostCount > in.remaining() / 9) {
+            throw new IOException("Bad ghost count " + ghostCount);
+        }
+        byte[] ghostKinds = new byte[ghostCount];
+        int[] ghostRows = new int[ghostCount];
+        int[] ghostCols = new int[ghostCount];
+        for (int i = 0; i < ghostCount; i++) {
+            ghostKinds[i] = in.get();
+            ghostRows[i] = in.getInt();
+            ghostCols[i] = in.getInt();
+            checkTile("Ghost " + i, ghostRows[i], ghostCols[i], rows, cols);
+        }
+
+        int wordCount = in.getInt();
+        if (wordCount != wordCount(rows, cols)) {
+            throw new IOException("Mask size does not match " + rows + "x" + cols);
+        }
+        long[] wallWords = new long[wordCount];
+        long[] pelletWords = new long[wordCount];
+        in.asLongBuffer().get(wallWords).get(pelletWords);
+        in.position(in.position() + 2 * 8 * wordCount);
+        // A pellet on a wall or past the last tile could never be eaten: the level would never end
+        int tileCount = rows * cols;
+        for (int i = 0; i < wordCount; i++) {
+            long outside = (i == wordCount - 1 && tileCount % 64 != 0) ? -1L << (tileCount % 64) : 0;
+            if ((pelletWords[i] & (wallWords[i] | outside)) != 0) {
+                throw new IOException("Pellet on a wall or outside the map");
+            }
+        }
+
+        byte[] tiles = new byte[rows * cols];
+        in.get(tiles);
+
+        WallGrid walls = new WallGrid(rows, cols, GameState.tileSize, wallWords);
+        NextHopTable table = ((flags & FLAG_NEXT_HOP) != 0) ? NextHopTable.read(walls, in) : null;
+        return new Level(rows, cols, pacmanRow, pacmanCol, ghostDownRow, ghostKinds, ghostRows, ghostCols,
+                tiles, wallWords, pelletWords, walls, table);
+    }
+
+    private static void checkTile(String what, int row, int col, int rows, int cols) throws IOException {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IOException(what + " at " + row + "," + col + " is outside the " + rows + "x" + cols + " map");
+        }
+    }
+
+    /**
+     * Save as a binary level file
+     */
+    public void write(Path file) throws IOException {
+        int hopBytes = (nextHopTable == null) ? 0 : nextHopTable.getNodeCount() * nextHopTable.getNodeCount();
+        ByteBuffer out = ByteBuffer.allocate(32 + ghostKinds.length * 9 + 4
+                + 2 * 8 * wallWords.length + tiles.length + hopBytes);
+
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.putShort(nextHopTable == null ? 0 : FLAG_NEXT_HOP);
+        out.putInt(rows).putInt(cols);
+        out.putInt(pacmanRow).putInt(pacmanCol);
+        out.putInt(ghostDownRow);
+        out.putInt(ghostKinds.length);
+        for (int i = 0; i < ghostKinds.length; i++) {
+            out.put(ghostKinds[i]).putInt(ghostRows[i]).putInt(ghostCols[i]);
+        }
+        out.putInt(wallWords.length);
+        out.asLongBuffer().put(wallWords).put(pelletWords);
+        out.position(out.position() + 2 * 8 * wallWords.length);
+        out.put(tiles);
+        if (nextHopTable != null) {
+            nextHopTable.writeHops(out);
+        }
+
+        out.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    public char tile(int row, int col) {
+        return (char) tiles[row * cols + col];
+    }
+
+    // Shared, never modified after loading
+    public WallGrid getWalls() {
+        return walls;
+    }
+
+    // A fresh copy: pellets get eaten
+    public PelletGrid createPellets() {
+        return new PelletGrid(rows, cols, GameState.tileSize, pelletWords);
+    }
+
+    // Null when not precomputed (too large, or the file has none)
+    public NextHopTable getNextHopTable() {
+        return nextHopTable;
+    }
+
+    // Row reached by leaving `row` through the left (or right) edge, -1 if that edge is a wall
+    public int getTunnelExit(int row, boolean rightEdge) {
+        return rightEdge ? rightExits[row] : leftExits[row];
+    }
+
+    public int getGhostCount() {
+        return ghostKinds.length;
+    }
+
+    public char getGhostKind(int i) {
+        return (char) ghostKinds[i];
+    }
+
+    public int getGhostRow(int i) {
+        return ghostRows[i];
+    }
+
+    public int getGhostCol(int i) {
+        return ghostCols[i];
+    }
+
+    private static int wordCount(int rows, int cols) {
+        return (rows * cols + 63) / 64;
+    }
+}
@@ -0,0 +1,67 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command line converter from text maps to binary .pacl level files.
+ *
+ *   java main.LevelConverter [--no-table] map.txt level.pacl
+ *   java main.LevelConverter [--no-table] --builtin outDir
+ *   java main.LevelConverter [--no-table] --maze ROWSxCOLS[,ghosts[,seed]] level.pacl
+ *
+ * A text map has one row per line, same characters as GameState's maps.
+ * --builtin writes the game's own maps as outDir/level1.pacl, level2.pacl...
+ * Play them with -Dpacman.levelDir=outDir.
+ * --maze saves a generated maze (see MazeGenerator).
+ */
+public class LevelConverter {
+
+    public static void main(String[] args) throws IOException {
+        boolean withTable = true;
+        int i = 0;
+        if (i < args.length && args[i].equals("--no-table")) {
+            withTable = false;
+            i++;
+        }
+        boolean maze = i < args.length && args[i].equals("--maze");
+        if (args.length - i != (maze ? 3 : 2)) {
+            System.err.println("Usage: LevelConverter [--no-table] map.txt level.pacl");
+            System.err.println("       LevelConverter [--no-table] --builtin outDir");
+            System.err.println("       LevelConverter [--no-table] --maze ROWSxCOLS[,ghosts[,seed]] level.pacl");
+            System.exit(2);
+        }
+
+        if (args[i].equals("--builtin")) {
+            Path dir = Path.of(args[i + 1]);
+            Files.createDirectories(dir);
+            List<String[]> maps = GameState.getBuiltinMaps();
+            for (int n = 1; n <= maps.size(); n++) {
+                convert(maps.get(n - 1), dir.resolve("level" + n + ".pacl"), withTable);
+            }
+        } else if (maze) {
+            write(Level.fromText(MazeGenerator.generate(args[i + 1]), -1, withTable), Path.of(args[i + 2]));
+        } else {
+            List<String> lines = Files.readAllLines(Path.of(args[i]));
+            // Trailing blank lines are not map rows
+            while (!lines.isEmpty() && lines.get(lines.size() - 1).isEmpty()) {
+                lines.remove(lines.size() - 1);
+            }
+            convert(lines.toArray(new String[0]), Path.of(args[i + 1]), withTable);
+        }
+    }
+
+    private static void convert(String[] map, Path out, boolean withTable) throws IOException {
+        write(Level.fromText(map, withTable), out);
+    }
+
+    private static void write(Level level, Path out) throws IOException {
+        level.write(out);
+        System.out.println(out + ": " + level.rows + "x" + level.cols + ", "
+                + level.getGhostCount() + " ghosts, "
+                + (level.getNextHopTable() != null ? "with" : "no") + " next-hop table, "
+                + Files.size(out) + " bytes");
+    }
+}
@@ -2,6 +2,8 @@ package main;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 public class MainClass {
 
@@ -33,6 +35,14 @@ public class MainClass {
         mainContainer.add(gamePanel, "GAME");
         mainContainer.add(guidePanel, "GUIDE");
 
+        // Stop the game loop before the JVM exits
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                gamePanel.stopGame();
+            }
+        });
+
         frame.add(mainContainer);
         frame.pack();
         frame.setLocationRelativeTo(null);
@@ -0,0 +1,315 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Seeded generator of Pac-Man style mazes of any size, for scaling tests
+ * (how pathfinding, collisions and drawing grow with the map).
+ *
+ * Every maze is mirror-symmetric left to right and fully connected:
+ * - Corridors are carved on a lattice of cells (odd row, odd column) by a
+ *   randomized depth-first search over the left half; every opening is
+ *   mirrored to the right half, and the halves meet in the centre column
+ * - Dead ends are then opened into a neighbour cell (loops everywhere, like
+ *   the arcade maze), plus a few extra random openings
+ * - Even sizes are built from the odd size below: the centre column is
+ *   doubled, and an even row count gets a second bottom wall row
+ * - The ghost house is a corridor across the middle row, Pacman starts at
+ *   the bottom centre, and the row two above the house is a wrap-around tunnel
+ * - Up to 8 ghosts start in the house, the rest on random corridor tiles
+ *   at least MIN_GHOST_DISTANCE tiles from Pacman
+ *
+ * Same arguments, same maze. Levels made here have no ghost-down row.
+ */
+public final class MazeGenerator {
+
+    public static final int MIN_SIZE = 9;
+    public static final int MAX_SIZE = 2048;
+
+    private static final String GHOST_KINDS = "brop";
+    private static final double EXTRA_OPENINGS = 0.05;
+    private static final int MIN_GHOST_DISTANCE = 8;
+
+    private final int rows;
+    private final int cols;
+    private final Random random;
+
+    // Odd working size the maze is carved in, and its centre column
+    private final int height;
+    private final int width;
+    private final int half;
+    private final char[][] grid;
+
+    private MazeGenerator(int rows, int cols, long seed) {
+        this.rows = rows;
+        this.cols = cols;
+        this.random = new Random(seed);
+        this.height = (rows % 2 == 1) ? rows : rows - 1;
+        this.width = (cols % 2 == 1) ? cols : cols - 1;
+        this.half = width / 2;
+        this.grid = new char[height][width];
+    }
+
+    /**
+     * Generate a maze as a text map (same characters as GameState's maps)
+     *
+     * @param rows - Tile rows, MIN_SIZE to MAX_SIZE
+     * @param cols - Tile columns, MIN_SIZE to MAX_SIZE
+     * @param ghostCount - Number of ghosts
+     * @param seed - Same seed, same maze
+     */
+    public static String[] generate(int rows, int cols, int ghostCount, long seed) {
+        if (rows < MIN_SIZE || cols < MIN_SIZE || rows > MAX_SIZE || cols > MAX_SIZE) {
+            throw new IllegalArgumentException("Maze size " + rows + "x" + cols + " out of range "
+                    + MIN_SIZE + ".." + MAX_SIZE);
+        }
+        if (ghostCount < 0) {
+            throw new IllegalArgumentException("Negative ghost count " + ghostCount);
+        }
+        MazeGenerator generator = new MazeGenerator(rows, cols, seed);
+        generator.carve();
+        generator.braid();
+        char[][] map = generator.widen();
+        generator.furnish(map, ghostCount);
+        checkConnected(map);
+
+        String[] lines = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            lines[row] = new String(map[row]);
+        }
+        return lines;
+    }
+
+    // Ready to play; the next-hop table is only built when the maze is small enough
+    public static Level level(int rows, int cols, int ghostCount, long seed) {
+        return Level.fromText(generate(rows, cols, ghostCount, seed), -1, true);
+    }
+
+    // Level from a spec, see generate(String)
+    public static Level fromSpec(String spec) {
+        return Level.fromText(generate(spec), -1, true);
+    }
+
+    /**
+     * Maze from a spec "ROWSxCOLS[,ghosts[,seed]]", e.g. "201x201,16,7"
+     * (4 ghosts and seed 1 when left out)
+     */
+    public static String[] generate(String spec) {
+        String[] parts = spec.split(",");
+        String[] size = parts[0].split("x");
+        if (size.length != 2 || parts.length > 3) {
+            throw badSpec(spec, null);
+        }
+        try {
+            int ghostCount = (parts.length > 1) ? Integer.parseInt(parts[1].trim()) : 4;
+            long seed = (parts.length > 2) ? Long.parseLong(parts[2].trim()) : 1;
+            return generate(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()), ghostCount, seed);
+        } catch (NumberFormatException e) {
+            throw badSpec(spec, e);
+        }
+    }
+
+    private static IllegalArgumentException badSpec(String spec, Throwable cause) {
+        return new IllegalArgumentException("Bad maze spec '" + spec + "', expected ROWSxCOLS[,ghosts[,seed]]", cause);
+    }
+
+    // Open a tile and its mirror image
+    private void open(int row, int col) {
+        grid[row][col] = ' ';
+        grid[row][width - 1 - col] = ' ';
+    }
+
+    // Randomized depth-first search over the cells of the left half (explicit stack: mazes get big)
+    private void carve() {
+        for (char[] line : grid) {
+            Arrays.fill(line, 'X');
+        }
+        int cellRows = (height - 1) / 2;
+        int cellCols = (half + 1) / 2;
+        boolean[] visited = new boolean[cellRows * cellCols];
+        int[] stack = new int[cellRows * cellCols];
+        int[] choices = new int[4];
+        int[] rowStep = {-1, 1, 0, 0};
+        int[] colStep = {0, 0, -1, 1};
+
+        int start = random.nextInt(cellRows * cellCols);
+        visited[start] = true;
+        open(2 * (start / cellCols) + 1, 2 * (start % cellCols) + 1);
+        int top = 0;
+        stack[top++] = start;
+
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int i = cell / cellCols;
+            int j = cell % cellCols;
+            int count = 0;
+            for (int d = 0; d < 4; d++) {
+                int ni = i + rowStep[d];
+                int nj = j + colStep[d];
+                if (ni >= 0 && ni < cellRows && nj >= 0 && nj < cellCols && !visited[ni * cellCols + nj]) {
+                    choices[count++] = d;
+                }
+            }
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int d = choices[random.nextInt(count)];
+            int next = (i + rowStep[d]) * cellCols + (j + colStep[d]);
+            open(2 * i + 1 + rowStep[d], 2 * j + 1 + colStep[d]);
+            open(2 * (next / cellCols) + 1, 2 * (next % cellCols) + 1);
+            visited[next] = true;
+            stack[top++] = next;
+        }
+
+        // Centre column between two cell columns: it is the only way across
+        if (half % 2 == 0) {
+            open(2 * random.nextInt(cellRows) + 1, half);
+            for (int i = 0; i < cellRows; i++) {
+                if (random.nextInt(4) == 0) {
+                    open(2 * i + 1, half);
+                }
+            }
+        }
+    }
+
+    // Give every dead end a second way out, then knock out a few more walls
+    private void braid() {
+        int[] rowStep = {-1, 1, 0, 0};
+        int[] colStep = {0, 0, -1, 1};
+        int[] choices = new int[4];
+        for (int row = 1; row < height - 1; row += 2) {
+            for (int col = 1; col <= half; col += 2) {
+                int exits = 0;
+                int count = 0;
+                for (int d = 0; d < 4; d++) {
+                    int wallRow = row + rowStep[d];
+                    int wallCol = col + colStep[d];
+                    int farRow = row + 2 * rowStep[d];
+                    int farCol = col + 2 * colStep[d];
+                    if (grid[wallRow][wallCol] != 'X') {
+                        exits++;
+                    } else if (farRow > 0 && farRow < height - 1 && farCol > 0 && farCol < width - 1) {
+                        choices[count++] = d;
+                    }
+                }
+                if (exits <= 1 && count > 0) {
+                    int d = choices[random.nextInt(count)];
+                    open(row + rowStep[d], col + colStep[d]);
+                }
+            }
+        }
+
+        // Walls between two cells: odd row and even column, or the other way round
+        for (int row = 1; row < height - 1; row++) {
+            for (int col = 1; col <= half; col++) {
+                if ((row + col) % 2 == 1 && grid[row][col] == 'X' && random.nextDouble() < EXTRA_OPENINGS) {
+                    open(row, col);
+                }
+            }
+        }
+    }
+
+    // Working grid to the requested size: double the centre column, add a bottom wall row
+    private char[][] widen() {
+        char[][] map = new char[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            if (row >= height) {
+                Arrays.fill(map[row], 'X');
+                continue;
+            }
+            for (int col = 0; col < cols; col++) {
+                int from = (cols == width || col <= half) ? col : col - 1;
+                map[row][col] = grid[row][from];
+            }
+        }
+        return map;
+    }
+
+    // Ghost house, tunnel, Pacman and ghosts; every other corridor tile keeps its pellet
+    private void furnish(char[][] map, int ghostCount) {
+        int leftCentre = (cols - 1) / 2;
+        int rightCentre = cols / 2;
+        int houseRow = 2 * (((height - 1) / 2 - 1) / 2) + 1;
+        for (int col = Math.max(1, leftCentre - 3); col <= Math.min(cols - 2, rightCentre + 3); col++) {
+            map[houseRow][col] = ' ';
+        }
+
+        int tunnelRow = houseRow - 2;
+        map[tunnelRow][0] = 'O';
+        map[tunnelRow][cols - 1] = 'O';
+
+        int pacmanRow = height - 2;
+        int pacmanCol = leftCentre;
+        for (int d = 0; map[pacmanRow][pacmanCol] != ' '; d++) {
+            pacmanCol = (d % 2 == 0) ? leftCentre - d / 2 - 1 : rightCentre + d / 2 + 1;
+        }
+        map[pacmanRow][pacmanCol] = 'P';
+
+        int placed = 0;
+        for (int d = 0; d < 8 && placed < ghostCount; d++) {
+            int col = (d % 2 == 0) ? leftCentre - d / 2 : rightCentre + d / 2;
+            if (col >= 1 && col <= cols - 2 && map[houseRow][col] == ' ') {
+                map[houseRow][col] = GHOST_KINDS.charAt(placed++ % GHOST_KINDS.length());
+            }
+        }
+
+        long attempts = 1000 + 100L * ghostCount;
+        while (placed < ghostCount) {
+            if (attempts-- == 0) {
+                throw new IllegalArgumentException("No room for " + ghostCount + " ghosts in a "
+                        + rows + "x" + cols + " maze");
+            }
+            int row = random.nextInt(rows);
+            int col = random.nextInt(cols);
+            if (map[row][col] == ' '
+                    && Math.abs(row - pacmanRow) + Math.abs(col - pacmanCol) >= MIN_GHOST_DISTANCE) {
+                map[row][col] = GHOST_KINDS.charAt(placed++ % GHOST_KINDS.length());
+            }
+        }
+    }
+
+    // Flood fill from Pacman must reach every open tile
+    private static void checkConnected(char[][] map) {
+        int rows = map.length;
+        int cols = map[0].length;
+        boolean[] seen = new boolean[rows * cols];
+        int[] queue = new int[rows * cols];
+        int open = 0;
+        int head = 0;
+        int tail = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (map[row][col] != 'X') {
+                    open++;
+                    if (map[row][col] == 'P') {
+                        seen[row * cols + col] = true;
+                        queue[tail++] = row * cols + col;
+                    }
+                }
+            }
+        }
+        while (head < tail) {
+            int tile = queue[head++];
+            int row = tile / cols;
+            int col = tile % cols;
+            if (row > 0)        tail = visit(map, seen, queue, tail, row - 1, col);
+            if (row < rows - 1) tail = visit(map, seen, queue, tail, row + 1, col);
+            if (col > 0)        tail = visit(map, seen, queue, tail, row, col - 1);
+            if (col < cols - 1) tail = visit(map, seen, queue, tail, row, col + 1);
+        }
+        if (tail != open) {
+            throw new IllegalStateException("Generated maze is not connected: " + tail + " of " + open + " tiles reachable");
+        }
+    }
+
+    private static int visit(char[][] map, boolean[] seen, int[] queue, int tail, int row, int col) {
+        int tile = row * map[0].length + col;
+        if (!seen[tile] && map[row][col] != 'X') {
+            seen[tile] = true;
+            queue[tail++] = tile;
+        }
+        return tail;
+    }
+}
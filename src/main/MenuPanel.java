@@ -17,16 +17,13 @@ public class MenuPanel extends JPanel implements ActionListener {
         this.setLayout(null);
         this.setPreferredSize(new Dimension(GamePanel.WIDTH, GamePanel.HEIGHT));
 
-        // bg img
-        try {
-            bgImage = new ImageIcon(getClass().getResource("/res/menuBg.png")).getImage();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        // bg img (optional, null if not shipped)
+        SpriteAtlas atlas = SpriteAtlas.get();
+        bgImage = atlas.sprite("menuBg");
 
         // play btn
         btnPlay = new JButton();
-        btnPlay.setIcon(new ImageIcon(getClass().getResource("/res/btnPlay.png")));
+        btnPlay.setIcon(new ImageIcon(atlas.sprite("btnPlay")));
         btnPlay.setBounds(220, 200, 150, 50);
         btnPlay.setBorderPainted(false);
         btnPlay.setContentAreaFilled(false);
@@ -36,7 +33,7 @@ public class MenuPanel extends JPanel implements ActionListener {
 
         // guide btn
         btnGuide = new JButton();
-        btnGuide.setIcon(new ImageIcon(getClass().getResource("/res/btnGuide.png")));
+        btnGuide.setIcon(new ImageIcon(atlas.sprite("btnGuide")));
         btnGuide.setBounds(220, 600, 150, 50);
         btnGuide.setBorderPainted(false);
         btnGuide.setContentAreaFilled(false);
@@ -48,7 +45,7 @@ public class MenuPanel extends JPanel implements ActionListener {
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
         if (bgImage != null) {
-            g.drawImage(bgImage, 0, 0, GamePanel.WIDTH, GamePanel.HEIGHT, null);
+            g.drawImage(bgImage, 0, 0, null);
         }
     }
 
@@ -0,0 +1,132 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs a recording (see InputRecorder) headless, as fast as possible, and
+ * checks that it ends with the recorded score and state hash.
+ *
+ *   java main.Replay game.pacr [runs]
+ *
+ * Exit code 1 if the game did not play out the same way: a regression in
+ * the game rules or AI, or a recording made with other levels.
+ * With several runs it doubles as a fixed-workload benchmark (ticks/s).
+ */
+public class Replay {
+
+    public final long seed;
+    public final long ticks;
+    public final int score;
+    public final long stateHash;
+
+    // Event section: (varint tick delta, byte input) pairs
+    private final byte[] events;
+
+    private Replay(long seed, byte[] events, long ticks, int score, long stateHash) {
+        this.seed = seed;
+        this.events = events;
+        this.ticks = ticks;
+        this.score = score;
+        this.stateHash = stateHash;
+    }
+
+    public static Replay read(Path file) throws IOException {
+        return parse(Files.readAllBytes(file));
+    }
+
+    public static Replay parse(byte[] data) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        try {
+            if (in.getInt() != InputRecorder.MAGIC) {
+                throw new IOException("Not a recording");
+            }
+            byte version = in.get();
+            if (version != InputRecorder.VERSION) {
+                throw new IOException("Unsupported recording version " + version);
+            }
+            long seed = in.getLong();
+
+            // Walk the events once to find the end marker and the total tick count
+            int eventsStart = in.position();
+            long ticks = 0;
+            while (true) {
+                int eventEnd = in.position();
+                ticks += readVarLong(in);
+                if (in.get() == 0) {
+                    byte[] events = new byte[eventEnd - eventsStart];
+                    in.get(eventsStart, events);
+                    int score = (int) readVarLong(in);
+                    return new Replay(seed, events, ticks, score, in.getLong());
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Bad recording: " + e, e);
+        }
+    }
+
+    /**
+     * Play the recording on a new game
+     *
+     * @return the game after the last recorded tick
+     */
+    public GameState run() {
+        GameState game = new GameState(seed);
+        ByteBuffer in = ByteBuffer.wrap(events);
+        long eventTick = 0;
+        while (in.hasRemaining()) {
+            eventTick += readVarLong(in);
+            char input = (char) in.get();
+            while (game.getTick() < eventTick) {
+                game.step();
+            }
+            if (input == InputRecorder.NEW_GAME) {
+                game.resetGame();
+            } else {
+                game.setPacmanDirection(input);
+            }
+        }
+        while (game.getTick() < ticks) {
+            game.step();
+        }
+        return game;
+    }
+
+    public boolean matches(GameState game) {
+        return game.getTick() == ticks && game.getScore() == score && game.stateHash() == stateHash;
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: Replay recording.pacr [runs]");
+            System.exit(2);
+        }
+        Replay replay = read(Path.of(args[0]));
+        int runs = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
+        boolean ok = true;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            GameState game = replay.run();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            boolean match = replay.matches(game);
+            ok &= match;
+            System.out.printf("run %d: %d ticks in %.3f s (%.0f ticks/s), score %d/%d, hash %016x/%016x -> %s%n",
+                    i + 1, game.getTick(), seconds, game.getTick() / seconds, game.getScore(), replay.score,
+                    game.stateHash(), replay.stateHash, match ? "OK" : "MISMATCH");
+        }
+        System.exit(ok ? 0 : 1);
+    }
+}
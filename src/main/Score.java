@@ -1,8 +1,8 @@
 package main;
 
 public class Score {
-    public String name;
-    public int point;
+    public final String name;
+    public final int point;
 
     public Score(String name, int point) {
         this.name = name;
@@ -0,0 +1,107 @@
+package main;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * Every image of the game, decoded once and shared by all panels.
+ * Images are converted to the screen's format and pre-scaled to the size
+ * they are drawn at, so drawing them is a plain unscaled copy.
+ */
+public final class SpriteAtlas {
+
+    private static final int TILE = GameState.tileSize;
+
+    private static SpriteAtlas instance;
+
+    private final Map<String, BufferedImage> sprites = new HashMap<>();
+
+    // Screen format to convert to; null when headless
+    private final GraphicsConfiguration gc;
+
+    public static synchronized SpriteAtlas get() {
+        if (instance == null) {
+            instance = new SpriteAtlas();
+        }
+        return instance;
+    }
+
+    private SpriteAtlas() {
+        gc = GraphicsEnvironment.isHeadless() ? null
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+
+        // Game sprites, drawn one tile big
+        load("wall", "wall.png", TILE, TILE, true);
+        load("wallLvl2Normal", "wallLvl2Normal.png", TILE, TILE, true);
+        load("wallLvl2Tu", "WallLvl2Tu.png", TILE, TILE, true);
+        load("pacmanUp", "pacmanUp.png", TILE, TILE, true);
+        load("pacmanDown", "pacmanDown.png", TILE, TILE, true);
+        load("pacmanLeft", "pacmanLeft.png", TILE, TILE, true);
+        load("pacmanRight", "pacmanRight.png", TILE, TILE, true);
+        load("blueGhost", "blueGhost.png", TILE, TILE, true);
+        load("redGhost", "redGhost.png", TILE, TILE, true);
+        load("pinkGhost", "pinkGhost.png", TILE, TILE, true);
+        load("orangeGhost", "orangeGhost.png", TILE, TILE, true);
+
+        // Menu buttons at their own size
+        load("btnPlay", "btnPlay.png", 0, 0, true);
+        load("btnGuide", "btnGuide.png", 0, 0, true);
+        load("btnBack", "btnBack.png", 0, 0, true);
+
+        // Full-screen backgrounds (optional)
+        load("menuBg", "menuBg.png", GamePanel.WIDTH, GamePanel.HEIGHT, false);
+        load("guideBg", "guideBg.png", GamePanel.WIDTH, GamePanel.HEIGHT, false);
+    }
+
+    // width/height 0 keeps the natural size; a missing optional image is skipped
+    private void load(String name, String file, int width, int height, boolean required) {
+        BufferedImage source = read("/res/" + file, required);
+        if (source == null) {
+            return;
+        }
+        sprites.put(name, prepare(source,
+                width > 0 ? width : source.getWidth(),
+                height > 0 ? height : source.getHeight(), gc));
+    }
+
+    // Image by name, or null if it is optional and missing
+    public BufferedImage sprite(String name) {
+        return sprites.get(name);
+    }
+
+    private static BufferedImage read(String path, boolean required) {
+        try (InputStream in = SpriteAtlas.class.getResourceAsStream(path)) {
+            if (in == null) {
+                if (required) {
+                    throw new IllegalStateException("Missing resource " + path);
+                }
+                return null;
+            }
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + path, e);
+        }
+    }
+
+    // Copy into a screen-compatible image of the final size (nearest neighbour keeps pixel art sharp)
+    private static BufferedImage prepare(BufferedImage source, int width, int height, GraphicsConfiguration gc) {
+        BufferedImage image = (gc != null)
+                ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,217 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server mode: many independent headless games in one JVM, one virtual
+ * thread per session (plus one per client connection for reading input).
+ *
+ *   java server.GameServer [port]
+ *       Listen on 127.0.0.1 (default port 7777). Each connection gets its own game.
+ *       Client sends lines U / D / L / R, RESTART or QUIT;
+ *       server sends HELLO once, then one S line per tick (see Session),
+ *       and a LEVEL line before the first tick of every newly loaded map.
+ *
+ *   java server.GameServer --load 1000,5000,20000 [seconds] [--socket]
+ *       Capacity test: run that many self-playing sessions for each count and
+ *       report whether the box keeps 20 Hz. --socket puts every session behind
+ *       a loopback connection with a client reading its state lines.
+ *
+ * -Dpacman.server.budgetMs sets the step time budget per tick (default 5).
+ */
+public class GameServer {
+
+    public static final int DEFAULT_PORT = 7777;
+
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+
+    private final TickStats stats = new TickStats();
+    private final long budgetNanos = Long.getLong("pacman.server.budgetMs", 5) * 1_000_000L;
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile ServerSocket serverSocket;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--load")) {
+            if (args.length < 2) {
+                System.err.println("Usage: GameServer --load <sessions>[,<sessions>...] [seconds] [--socket]");
+                System.exit(2);
+            }
+            int seconds = (args.length > 2 && !args[2].startsWith("--")) ? Integer.parseInt(args[2]) : 10;
+            boolean socket = args[args.length - 1].equals("--socket");
+            for (String count : args[1].split(",")) {
+                new GameServer().loadTest(Integer.parseInt(count.trim()), seconds, socket);
+            }
+            System.exit(0);
+        }
+
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GameServer server = new GameServer();
+        server.listen(port);
+        System.out.println("Listening on 127.0.0.1:" + server.serverSocket.getLocalPort());
+        server.acceptLoop();
+    }
+
+    public void listen(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+    }
+
+    // Runs until the server socket is closed
+    public void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                threads.submit(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Accept failed: " + e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            Session session = new Session(nextId.incrementAndGet(), stats, budgetNanos, out, false);
+
+            threads.submit(() -> readInput(in, session));
+            session.run();
+        } catch (IOException e) {
+            // Connection dropped
+        }
+    }
+
+    private static void readInput(BufferedReader in, Session session) {
+        try {
+            String line;
+            while ((line = in.readLine()) != null && session.isRunning()) {
+                switch (line.trim()) {
+                    case "U": session.setDirection('U'); break;
+                    case "D": session.setDirection('D'); break;
+                    case "L": session.setDirection('L'); break;
+                    case "R": session.setDirection('R'); break;
+                    case "RESTART": session.restart(); break;
+                    case "QUIT": session.stop(); return;
+                    default: break;
+                }
+            }
+        } catch (IOException e) {
+            // Connection dropped
+        }
+        session.stop();
+    }
+
+    /**
+     * Run sessions for a while and print how well 20 Hz held up
+     *
+     * ALGORITHM STEPS:
+     * Step 1: Start the sessions (directly, or behind loopback clients)
+     * Step 2: Let them warm up, then reset the stats
+     * Step 3: Measure for the given time and print one report line
+     */
+    private void loadTest(int sessions, int seconds, boolean socket) throws Exception {
+        // === STEP 1: Start sessions ===
+        List<Session> direct = new ArrayList<>();
+        List<Socket> clients = new ArrayList<>();
+        if (socket) {
+            listen(0);
+            threads.submit(this::acceptLoop);
+            for (int i = 0; i < sessions; i++) {
+                Socket client = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+                clients.add(client);
+                threads.submit(() -> playClient(client));
+            }
+        } else {
+            for (int i = 0; i < sessions; i++) {
+                Session session = new Session(nextId.incrementAndGet(), stats, budgetNanos, null, true);
+                direct.add(session);
+                threads.submit(session);
+            }
+        }
+
+        // === STEP 2: Warm up ===
+        Thread.sleep(WARMUP_NANOS / 1_000_000);
+        stats.reset();
+        long cpuBefore = processCpuNanos();
+
+        // === STEP 3: Measure ===
+        long start = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        long elapsed = System.nanoTime() - start;
+        long cpu = processCpuNanos() - cpuBefore;
+        long ticks = stats.getTicks();
+        double expected = sessions * (elapsed / (double) Session.TICK_NANOS);
+
+        for (Session session : direct) {
+            session.stop();
+        }
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Socket client : clients) {
+            client.close();
+        }
+        threads.close();
+
+        boolean sustained = stats.getDropped() == 0 && stats.latenessPercentile(99) < Session.TICK_NANOS;
+        System.out.printf("sessions %d%s: %.1f%% of 20 Hz ticks, lateness p50 %.2f ms p99 %.2f ms p99.9 %.2f ms,"
+                        + " step p50 %.3f ms p99 %.3f ms, over budget %d, dropped %d, cpu %.0f%% of %d cores -> %s%n",
+                sessions, socket ? " (socket)" : "", 100.0 * ticks / expected,
+                stats.latenessPercentile(50) / 1e6, stats.latenessPercentile(99) / 1e6,
+                stats.latenessPercentile(99.9) / 1e6,
+                stats.stepPercentile(50) / 1e6, stats.stepPercentile(99) / 1e6,
+                stats.getOverBudget(), stats.getDropped(),
+                100.0 * cpu / elapsed / Runtime.getRuntime().availableProcessors(),
+                Runtime.getRuntime().availableProcessors(),
+                sustained ? "sustained" : "NOT sustained");
+    }
+
+    // Stand-in client: read state lines, turn now and then, restart after game over
+    private static void playClient(Socket client) {
+        try (client) {
+            client.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+            Writer out = new BufferedWriter(new OutputStreamWriter(client.getOutputStream(), StandardCharsets.US_ASCII));
+            String line;
+            int lines = 0;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("S ") && line.split(" ", 7)[5].charAt(0) != '0') {
+                    out.write("RESTART\n");
+                    out.flush();
+                } else if (++lines % 8 == 0) {
+                    out.write("UDLR".charAt(ThreadLocalRandom.current().nextInt(4)) + "\n");
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Closed at the end of the test
+        }
+    }
+
+    private static long processCpuNanos() {
+        java.lang.management.OperatingSystemMXBean os = java.lang.management.ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,161 @@
+package server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import entity.Ghost;
+import main.GameLoop;
+import main.GameState;
+
+/**
+ * One headless game (own maze state, Pacman, ghosts and score) ticking at
+ * 20 Hz on its own thread - meant to be a virtual thread, which gives the
+ * carrier back while the session waits for its next tick.
+ *
+ * Tick budget:
+ * - Each step should take at most budgetNanos; longer ones are counted
+ * - A late session runs its missed ticks back to back, but never more than
+ *   MAX_BEHIND_NANOS worth; beyond that the backlog is dropped (and counted),
+ *   so an overloaded server slows games down instead of bursting
+ *
+ * Input (setDirection, restart, stop) may come from any thread and is
+ * applied at the start of the next tick.
+ */
+public class Session implements Runnable {
+
+    public static final long TICK_NANOS = GameLoop.STEP_NANOS;
+
+    private static final long MAX_BEHIND_NANOS = 5 * TICK_NANOS;
+
+    private final int id;
+    private final GameState game = new GameState();
+    private final TickStats stats;
+    private final long budgetNanos;
+
+    // State lines go here after every tick (null: nobody is watching)
+    private final Writer out;
+
+    // Play itself: random turns, restart after game over (load tests)
+    private final boolean autoPlay;
+
+    // Map the client last heard about (a new level may change the grid size)
+    private int sentMapVersion;
+
+    private final AtomicInteger pendingDirection = new AtomicInteger(0);
+    private final AtomicBoolean pendingRestart = new AtomicBoolean(false);
+    private volatile boolean running = true;
+
+    public Session(int id, TickStats stats, long budgetNanos, Writer out, boolean autoPlay) {
+        this.id = id;
+        this.stats = stats;
+        this.budgetNanos = budgetNanos;
+        this.out = out;
+        this.autoPlay = autoPlay;
+    }
+
+    public void setDirection(char direction) {
+        pendingDirection.set(direction);
+    }
+
+    public void restart() {
+        pendingRestart.set(true);
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        long next = System.nanoTime();
+        try {
+            if (out != null) {
+                out.write("HELLO " + id + " " + game.getRowCount() + " " + game.getColumnCount() + " "
+                        + GameState.tileSize + " " + (1_000_000_000L / TICK_NANOS) + "\n");
+                out.flush();
+                sentMapVersion = game.getMapVersion();
+            }
+            while (running) {
+                next += TICK_NANOS;
+                long wait;
+                while ((wait = next - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                long start = System.nanoTime();
+                applyInput();
+                game.step();
+                long end = System.nanoTime();
+                stats.record(start - next, end - start, budgetNanos);
+
+                if (out != null) {
+                    if (sentMapVersion != game.getMapVersion()) {
+                        sentMapVersion = game.getMapVersion();
+                        out.write("LEVEL " + game.currentLevel + " " + game.getRowCount() + " " + game.getColumnCount() + "\n");
+                    }
+                    out.write(stateLine());
+                    out.flush();
+                }
+
+                // Too far behind: skip the backlog instead of running it all at once
+                long behind = end - next;
+                if (behind > MAX_BEHIND_NANOS) {
+                    long skipped = behind / TICK_NANOS;
+                    next += skipped * TICK_NANOS;
+                    stats.drop(skipped);
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        } finally {
+            running = false;
+        }
+    }
+
+    private void applyInput() {
+        if (autoPlay) {
+            if (game.isGameOver()) {
+                pendingRestart.set(true);
+            } else if (game.getTick() % 8 == 0) {
+                pendingDirection.set("UDLR".charAt(ThreadLocalRandom.current().nextInt(4)));
+            }
+        }
+        if (pendingRestart.getAndSet(false)) {
+            game.resetGame();
+        }
+        char direction = (char) pendingDirection.getAndSet(0);
+        if (direction != 0) {
+            game.setPacmanDirection(direction);
+        }
+    }
+
+    // S tick score lives level over(0 playing, 1 lost, 2 won) pacX pacY ghostCount {ghostX ghostY}
+    private String stateLine() {
+        StringBuilder line = new StringBuilder(64);
+        int over = !game.isGameOver() ? 0 : (game.isGameWon() ? 2 : 1);
+        line.append("S ").append(game.getTick()).append(' ').append(game.getScore()).append(' ')
+                .append(game.getLives()).append(' ').append(game.currentLevel).append(' ')
+                .append(over).append(' ').append(game.pacman.x).append(' ').append(game.pacman.y)
+                .append(' ').append(game.getGhosts().size());
+        for (Ghost ghost : game.getGhosts()) {
+            line.append(' ').append(ghost.x).append(' ').append(ghost.y);
+        }
+        return line.append('\n').toString();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getTick() {
+        return game.getTick();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
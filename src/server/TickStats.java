@@ -0,0 +1,124 @@
+package server;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tick timing shared by all sessions of a server.
+ * Times go into log-linear microsecond buckets (LongAdder per bucket),
+ * so thousands of threads can record without contending on one counter.
+ * Each power of two is split into 8 buckets, and a percentile is the upper
+ * edge of its bucket: at most 12.5% too high.
+ */
+public class TickStats {
+
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = 40 * SUB_BUCKETS;
+
+    private final LongAdder[] lateness = newBuckets();
+    private final LongAdder[] stepTime = newBuckets();
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder overBudget = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private static LongAdder[] newBuckets() {
+        LongAdder[] buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+        return buckets;
+    }
+
+    /**
+     * Record one tick
+     *
+     * @param lateNanos - How long after its scheduled time the tick started
+     * @param stepNanos - How long the tick took
+     * @param budgetNanos - Step time allowed per tick
+     */
+    public void record(long lateNanos, long stepNanos, long budgetNanos) {
+        ticks.increment();
+        lateness[bucket(lateNanos)].increment();
+        stepTime[bucket(stepNanos)].increment();
+        if (stepNanos > budgetNanos) {
+            overBudget.increment();
+        }
+    }
+
+    // Ticks skipped by a session that fell too far behind
+    public void drop(long count) {
+        dropped.add(count);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            lateness[i].reset();
+            stepTime[i].reset();
+        }
+        ticks.reset();
+        overBudget.reset();
+        dropped.reset();
+    }
+
+    public long getTicks() {
+        return ticks.sum();
+    }
+
+    public long getOverBudget() {
+        return overBudget.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long latenessPercentile(double p) {
+        return percentile(lateness, p);
+    }
+
+    public long stepPercentile(double p) {
+        return percentile(stepTime, p);
+    }
+
+    // Below 8 us one bucket per microsecond, then 8 per power of two
+    private static int bucket(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, (exponent - 2) * SUB_BUCKETS + sub);
+    }
+
+    // Smallest time (nanoseconds) above every value of the bucket
+    private static long upperEdge(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return (bucket + 1) * 1000L;
+        }
+        int exponent = bucket / SUB_BUCKETS + 2;
+        int sub = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) * 1000L;
+    }
+
+    // Upper edge of the bucket holding the p-th percentile, in nanoseconds
+    private static long percentile(LongAdder[] buckets, double p) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(p / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperEdge(i);
+            }
+        }
+        return upperEdge(BUCKETS - 1);
+    }
+}
@@ -0,0 +1,14 @@
+package sim;
+
+import main.GameState;
+
+/**
+ * A Pacman player for self-play: looks at the game before each step and
+ * may request a turn. One agent per game (agents keep their own scratch
+ * data and random numbers, so games running in parallel share nothing).
+ */
+public interface Agent {
+
+    // Direction to request before the next step ('U', 'D', 'L', 'R'), or 0 to keep going
+    char decide(GameState game);
+}
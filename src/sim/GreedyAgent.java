@@ -0,0 +1,140 @@
+package sim;
+
+import entity.Ghost;
+import entity.WallGrid;
+import main.GameState;
+
+/**
+ * Scripted player: on every tile, walk towards the nearest pellet along a
+ * shortest path that keeps off the ghosts' tiles and their neighbours.
+ * If no such path exists, step to the free neighbour farthest from the ghosts.
+ *
+ * ALGORITHM STEPS:
+ * Step 1: Mark ghost tiles and their 4 neighbours as dangerous
+ * Step 2: BFS from Pacman's tile, remembering the first move of each path
+ * Step 3: The first pellet reached decides the move
+ *
+ * Scratch arrays are allocated once and reused with a visit stamp,
+ * so deciding allocates nothing.
+ */
+public class GreedyAgent implements Agent {
+
+    private static final char[] DIRECTIONS = {'U', 'D', 'L', 'R'};
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+
+    private int[] queue = new int[0];
+    private byte[] firstMove = new byte[0];
+    private int[] visited = new int[0];
+    private int[] danger = new int[0];
+    private int stamp = 0;
+
+    @Override
+    public char decide(GameState game) {
+        int tileSize = GameState.tileSize;
+        if (game.pacman.x % tileSize != 0 || game.pacman.y % tileSize != 0) {
+            return 0;
+        }
+        WallGrid grid = game.wallGrid;
+        int rows = grid.getRowCount();
+        int cols = grid.getColumnCount();
+        if (queue.length != rows * cols) {
+            queue = new int[rows * cols];
+            firstMove = new byte[rows * cols];
+            visited = new int[rows * cols];
+            danger = new int[rows * cols];
+            stamp = 0;
+        }
+        stamp++;
+
+        // === STEP 1: Dangerous tiles ===
+        for (Ghost ghost : game.getGhosts()) {
+            int row = (ghost.y + tileSize / 2) / tileSize;
+            int col = (ghost.x + tileSize / 2) / tileSize;
+            markDanger(row, col, rows, cols);
+            for (int d = 0; d < 4; d++) {
+                markDanger(row + ROW_STEP[d], col + COL_STEP[d], rows, cols);
+            }
+        }
+
+        // === STEP 2: BFS ===
+        int startRow = game.pacman.y / tileSize;
+        int startCol = game.pacman.x / tileSize;
+        if (startRow < 0 || startRow >= rows || startCol < 0 || startCol >= cols) {
+            return 0;  // Just teleported past the map edge
+        }
+        int head = 0;
+        int tail = 0;
+        visited[startRow * cols + startCol] = stamp;
+        for (int d = 0; d < 4; d++) {
+            int row = startRow + ROW_STEP[d];
+            int col = startCol + COL_STEP[d];
+            if (isOpen(grid, row, col, rows, cols)) {
+                int cell = row * cols + col;
+                visited[cell] = stamp;
+                firstMove[cell] = (byte) d;
+                queue[tail++] = cell;
+            }
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            int row = cell / cols;
+            int col = cell % cols;
+
+            // === STEP 3: Nearest pellet ===
+            if (game.pellets.has(row, col)) {
+                return DIRECTIONS[firstMove[cell]];
+            }
+            for (int d = 0; d < 4; d++) {
+                int nextRow = row + ROW_STEP[d];
+                int nextCol = col + COL_STEP[d];
+                if (isOpen(grid, nextRow, nextCol, rows, cols)) {
+                    int next = nextRow * cols + nextCol;
+                    visited[next] = stamp;
+                    firstMove[next] = firstMove[cell];
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return escape(game, grid, startRow, startCol, rows, cols);
+    }
+
+    private void markDanger(int row, int col, int rows, int cols) {
+        if (row >= 0 && row < rows && col >= 0 && col < cols) {
+            danger[row * cols + col] = stamp;
+        }
+    }
+
+    // Walkable, not yet visited this round, not next to a ghost
+    private boolean isOpen(WallGrid grid, int row, int col, int rows, int cols) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols || grid.isWall(row, col)) {
+            return false;
+        }
+        int cell = row * cols + col;
+        return visited[cell] != stamp && danger[cell] != stamp;
+    }
+
+    // Cornered: any walkable neighbour, the one farthest from the nearest ghost
+    private char escape(GameState game, WallGrid grid, int row, int col, int rows, int cols) {
+        int tileSize = GameState.tileSize;
+        char best = 0;
+        int bestDistance = -1;
+        for (int d = 0; d < 4; d++) {
+            int nextRow = row + ROW_STEP[d];
+            int nextCol = col + COL_STEP[d];
+            if (nextRow < 0 || nextRow >= rows || nextCol < 0 || nextCol >= cols || grid.isWall(nextRow, nextCol)) {
+                continue;
+            }
+            int nearest = Integer.MAX_VALUE;
+            for (Ghost ghost : game.getGhosts()) {
+                int distance = Math.abs(ghost.y / tileSize - nextRow) + Math.abs(ghost.x / tileSize - nextCol);
+                nearest = Math.min(nearest, distance);
+            }
+            if (nearest > bestDistance) {
+                bestDistance = nearest;
+                best = DIRECTIONS[d];
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,29 @@
+package sim;
+
+import java.util.Random;
+
+import main.GameState;
+
+/**
+ * Turns a random way at about one tile in three: a weak player, the
+ * baseline every tuning should still let win sometimes.
+ */
+public class RandomAgent implements Agent {
+
+    private static final char[] DIRECTIONS = {'U', 'D', 'L', 'R'};
+
+    private final Random random;
+
+    public RandomAgent(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public char decide(GameState game) {
+        // Turns only take effect on a tile boundary
+        if (game.pacman.x % GameState.tileSize != 0 || game.pacman.y % GameState.tileSize != 0) {
+            return 0;
+        }
+        return (random.nextInt(3) == 0) ? DIRECTIONS[random.nextInt(4)] : 0;
+    }
+}
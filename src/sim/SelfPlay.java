@@ -0,0 +1,212 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import entity.GhostTuning;
+import main.GameState;
+
+/**
+ * Monte-Carlo balance runs: thousands of seeded headless games played by
+ * a scripted or random Pacman, for one or more ghost tunings.
+ *
+ *   java sim.SelfPlay [--games 2000] [--agent greedy|random] [--maxTicks 20000]
+ *                     [--seed 1] [--threads 1,2,4]
+ *                     [--chase 2,3] [--stopChase 3,4] [--recalc 20]
+ *
+ * Distances are in tiles. Comma lists are crossed: every combination of
+ * chase / stopChase / recalc is one tuning, run once per thread count.
+ * Game i always gets seed + i, so every tuning faces the same ghost dice
+ * and the same agent (paired comparison: differences are not luck).
+ *
+ * Games share nothing but immutable level data: each worker thread takes
+ * the next game number from an AtomicInteger and writes into its own
+ * slot of the result arrays, so throughput scales with cores.
+ */
+public class SelfPlay {
+
+    private final int games;
+    private final String agent;
+    private final int maxTicks;
+    private final long seed;
+
+    // One slot per game
+    private final boolean[] won;
+    private final int[] ticks;
+    private final int[] scores;
+    private final int[] levels;
+    private final long[] nanos;
+
+    public SelfPlay(int games, String agent, int maxTicks, long seed) {
+        this.games = games;
+        this.agent = agent;
+        this.maxTicks = maxTicks;
+        this.seed = seed;
+        this.won = new boolean[games];
+        this.ticks = new int[games];
+        this.scores = new int[games];
+        this.levels = new int[games];
+        this.nanos = new long[games];
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int games = 2000;
+        String agent = "greedy";
+        int maxTicks = 20_000;
+        long seed = 1;
+        int[] threads = {Runtime.getRuntime().availableProcessors()};
+        int[] chase = {GhostTuning.DEFAULT.chaseDistance / GameState.tileSize};
+        int[] stopChase = {GhostTuning.DEFAULT.stopChaseDistance / GameState.tileSize};
+        int[] recalc = {GhostTuning.DEFAULT.recalculateInterval};
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--games": games = Integer.parseInt(value); break;
+                case "--agent": agent = value; break;
+                case "--maxTicks": maxTicks = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--threads": threads = parseList(value); break;
+                case "--chase": chase = parseList(value); break;
+                case "--stopChase": stopChase = parseList(value); break;
+                case "--recalc": recalc = parseList(value); break;
+                default:
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(2);
+            }
+        }
+        createAgent(agent, 0);  // fail early on a bad name
+
+        for (int c : chase) {
+            for (int s : stopChase) {
+                for (int r : recalc) {
+                    if (s < c) {
+                        continue;
+                    }
+                    GhostTuning tuning = new GhostTuning(c * GameState.tileSize, s * GameState.tileSize, r);
+                    for (int t : threads) {
+                        SelfPlay run = new SelfPlay(games, agent, maxTicks, seed);
+                        long wall = run.run(tuning, t);
+                        System.out.println(run.report(tuning, t, wall));
+                    }
+                }
+            }
+        }
+    }
+
+    static Agent createAgent(String name, long seed) {
+        switch (name) {
+            case "greedy": return new GreedyAgent();
+            case "random": return new RandomAgent(seed);
+            default:
+                throw new IllegalArgumentException("Unknown agent: " + name);
+        }
+    }
+
+    /**
+     * Play every game on the given number of threads
+     *
+     * @return wall time in nanoseconds
+     */
+    public long run(GhostTuning tuning, int threadCount) throws InterruptedException {
+        AtomicInteger nextGame = new AtomicInteger();
+        Thread[] workers = new Thread[threadCount];
+        long start = System.nanoTime();
+        for (int w = 0; w < threadCount; w++) {
+            workers[w] = new Thread(() -> {
+                int game;
+                while ((game = nextGame.getAndIncrement()) < games) {
+                    play(game, tuning);
+                }
+            }, "self-play-" + w);
+            workers[w].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    // One game until it is won, lost, or runs out of ticks
+    private void play(int index, GhostTuning tuning) {
+        long gameSeed = seed + index;
+        GameState game = new GameState(gameSeed, tuning);
+        Agent player = createAgent(agent, gameSeed * 0x9E3779B97F4A7C15L);
+
+        long start = System.nanoTime();
+        while (!game.isGameOver() && game.getTick() < maxTicks) {
+            char direction = player.decide(game);
+            if (direction != 0) {
+                game.setPacmanDirection(direction);
+            }
+            game.step();
+        }
+        nanos[index] = System.nanoTime() - start;
+
+        won[index] = game.isGameWon();
+        ticks[index] = (int) game.getTick();
+        scores[index] = game.getScore();
+        levels[index] = game.currentLevel;
+    }
+
+    public String report(GhostTuning tuning, int threadCount, long wallNanos) {
+        int wins = 0;
+        int losses = 0;
+        int reachedLevel2 = 0;
+        long totalTicks = 0;
+        long totalNanos = 0;
+        for (int i = 0; i < games; i++) {
+            if (won[i]) {
+                wins++;
+            } else if (ticks[i] < maxTicks) {
+                losses++;
+            }
+            if (levels[i] >= 2) {
+                reachedLevel2++;
+            }
+            totalTicks += ticks[i];
+            totalNanos += nanos[i];
+        }
+        double winRate = (double) wins / games;
+        // Normal approximation of the 95% confidence interval
+        double margin = 1.96 * Math.sqrt(winRate * (1 - winRate) / games);
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("tuning [%s], agent %s, %d games, %d threads%n", tuning, agent, games, threadCount));
+        out.append(String.format("  win %.1f%% (+/- %.1f%%)  lost %.1f%%  out of ticks %.1f%%  reached level 2 %.1f%%%n",
+                100 * winRate, 100 * margin, 100.0 * losses / games,
+                100.0 * (games - wins - losses) / games, 100.0 * reachedLevel2 / games));
+        out.append("  survival ticks ").append(summary(ticks)).append('\n');
+        out.append("  score          ").append(summary(scores)).append('\n');
+        out.append(String.format("  time %.3f us/tick, %.0f ticks/s overall, wall %.2f s",
+                totalNanos / 1e3 / Math.max(1, totalTicks), totalTicks / (wallNanos / 1e9), wallNanos / 1e9));
+        return out.toString();
+    }
+
+    private static String summary(int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (int v : sorted) {
+            sum += v;
+        }
+        return String.format("mean %.0f  p10 %d  p50 %d  p90 %d  max %d",
+                (double) sum / sorted.length, percentile(sorted, 10), percentile(sorted, 50),
+                percentile(sorted, 90), sorted[sorted.length - 1]);
+    }
+
+    private static int percentile(int[] sorted, double p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static int[] parseList(String value) {
+        List<Integer> list = new ArrayList<>();
+        for (String part : value.split(",")) {
+            list.add(Integer.parseInt(part.trim()));
+        }
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+}